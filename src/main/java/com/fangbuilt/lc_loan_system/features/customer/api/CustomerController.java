@@ -1,6 +1,7 @@
 package com.fangbuilt.lc_loan_system.features.customer.api;
 
-import com.fangbuilt.lc_loan_system.features.customer.domain.CustomerProfile;
+import com.fangbuilt.lc_loan_system.features.customer.api.dto.CustomerResponse;
+import com.fangbuilt.lc_loan_system.features.customer.api.dto.CustomerSearchResult;
 import com.fangbuilt.lc_loan_system.features.customer.service.CustomerService;
 import com.fangbuilt.lc_loan_system.features.user.domain.User;
 import com.fangbuilt.lc_loan_system.shared.domain.PageRequest;
@@ -42,8 +43,7 @@ public class CustomerController {
     public ResponseEntity<Map<String, String>> uploadKtp(
             @RequestParam("file") MultipartFile file
     ) {
-        CustomerProfile customer = getCurrentCustomerProfile();
-        service.uploadKtp(customer.getId(), file);
+        service.uploadKtp(getCurrentCustomerId(), file);
         return ResponseEntity.ok(Map.of("message", "KTP uploaded successfully"));
     }
 
@@ -53,8 +53,7 @@ public class CustomerController {
     public ResponseEntity<Map<String, String>> uploadSalarySlip(
             @RequestParam("file") MultipartFile file
     ) {
-        CustomerProfile customer = getCurrentCustomerProfile();
-        service.uploadSalarySlip(customer.getId(), file);
+        service.uploadSalarySlip(getCurrentCustomerId(), file);
         return ResponseEntity.ok(Map.of("message", "Salary slip uploaded successfully"));
     }
 
@@ -62,17 +61,27 @@ public class CustomerController {
     @PreAuthorize("hasRole('CUSTOMER')")
     @Operation(summary = "Download my KTP (Customer only)")
     public ResponseEntity<Resource> downloadMyKtp(HttpServletRequest request) {
-        CustomerProfile customer = getCurrentCustomerProfile();
-        return downloadDocument(service.getKtpDocument(customer.getId()), request);
+        return downloadDocument(service.getKtpDocument(getCurrentCustomerId()), request);
     }
 
     // ADMIN endpoints
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "Get all customers (Admin only)")
-    public ResponseEntity<PageResponse<CustomerProfile>> getAllCustomers(PageRequest pageRequest) {
-        return ResponseEntity.ok(PageResponse.of(service.findAll(pageRequest)));
+    @Operation(summary = "Get all customers (Admin only). mode=CURSOR (or a cursor) switches to keyset pagination")
+    public ResponseEntity<PageResponse<CustomerResponse>> getAllCustomers(PageRequest pageRequest) {
+        return ResponseEntity.ok(service.findResponsePage(pageRequest));
+    }
+
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Search customers by name or email, typo-tolerant and ranked (Admin only). "
+            + "limit is capped at 100")
+    public ResponseEntity<List<CustomerSearchResult>> searchCustomers(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        return ResponseEntity.ok(service.search(query, limit));
     }
 
     @GetMapping("/{id}/ktp")
@@ -95,9 +104,9 @@ public class CustomerController {
         return downloadDocument(service.getSalarySlipDocument(id), request);
     }
 
-    private CustomerProfile getCurrentCustomerProfile() {
+    private UUID getCurrentCustomerId() {
         User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        return service.findByUserId(user.getId());
+        return service.findIdByUserId(user.getId());
     }
 
     private ResponseEntity<Resource> downloadDocument(Resource resource, HttpServletRequest request) {
@@ -0,0 +1,43 @@
+package com.fangbuilt.lc_loan_system.features.customer.api.dto;
+
+import com.fangbuilt.lc_loan_system.features.customer.domain.CustomerProfile;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerResponse {
+
+    private UUID id;
+    private String name;
+    private String email;
+    private BigDecimal monthlyIncome;
+
+    // Document presence only; storage paths stay internal
+    private boolean ktpUploaded;
+    private boolean salarySlipUploaded;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public static CustomerResponse from(CustomerProfile customer) {
+        return CustomerResponse.builder()
+                .id(customer.getId())
+                .name(customer.getName())
+                .email(customer.getEmail())
+                .monthlyIncome(customer.getMonthlyIncome())
+                .ktpUploaded(customer.hasUploadedKtp())
+                .salarySlipUploaded(customer.hasUploadedSalarySlip())
+                .createdAt(customer.getCreatedAt())
+                .updatedAt(customer.getUpdatedAt())
+                .build();
+    }
+}
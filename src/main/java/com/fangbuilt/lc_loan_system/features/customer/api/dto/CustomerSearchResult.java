@@ -0,0 +1,9 @@
+package com.fangbuilt.lc_loan_system.features.customer.api.dto;
+
+import java.util.UUID;
+
+/**
+ * One search hit; score is the best trigram similarity of name or email (1.0 for prefix-only matches)
+ */
+public record CustomerSearchResult(UUID id, String name, String email, double score) {
+}
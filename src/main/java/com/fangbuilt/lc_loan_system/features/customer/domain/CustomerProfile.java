@@ -2,23 +2,29 @@ package com.fangbuilt.lc_loan_system.features.customer.domain;
 
 import com.fangbuilt.lc_loan_system.features.user.domain.User;
 import com.fangbuilt.lc_loan_system.shared.domain.BaseEntity;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.io.Serializable;
 import java.math.BigDecimal;
 
 @Entity
 @Table(name = "customer_profiles")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "customer_profiles")
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class CustomerProfile extends BaseEntity implements Serializable {
     
+    @JsonIgnore
     @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false, unique = true)
     private User user;
@@ -2,19 +2,36 @@ package com.fangbuilt.lc_loan_system.features.customer.repository;
 
 import com.fangbuilt.lc_loan_system.features.customer.domain.CustomerProfile;
 import com.fangbuilt.lc_loan_system.shared.repository.BaseRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface CustomerProfileRepository extends BaseRepository<CustomerProfile> {
 
+    /**
+     * Query-cached: the cache keeps the matching id, the entity itself comes from the
+     * customer_profiles region. Any write to the table invalidates the cached result.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT cp FROM CustomerProfile cp WHERE cp.user.id = :userId AND cp.deletedAt IS NULL")
     Optional<CustomerProfile> findByUserId(@Param("userId") UUID userId);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT cp.id FROM CustomerProfile cp WHERE cp.user.id = :userId AND cp.deletedAt IS NULL")
+    Optional<UUID> findIdByUserId(@Param("userId") UUID userId);
+
+    @Query("SELECT cp FROM CustomerProfile cp WHERE cp.id IN :ids AND cp.deletedAt IS NULL")
+    List<CustomerProfile> findAllActiveByIdIn(@Param("ids") Collection<UUID> ids);
+
     boolean existsByEmail(String email);
 
     Optional<CustomerProfile> findByEmail(String email);
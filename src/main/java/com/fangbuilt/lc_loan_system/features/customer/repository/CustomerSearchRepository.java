@@ -0,0 +1,75 @@
+package com.fangbuilt.lc_loan_system.features.customer.repository;
+
+import com.fangbuilt.lc_loan_system.features.customer.api.dto.CustomerSearchResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Customer search over name and email, served by indexes (see {@code db/migration}).
+ *
+ * Terms of three or more characters go through the pg_trgm GIN indexes: typo-tolerant
+ * similarity ({@code %}) plus substring matches, prefix hits ranked first, then by similarity.
+ * Shorter terms have no trigrams to match, so they take a plain prefix scan on the
+ * {@code lower(...) text_pattern_ops} btree indexes.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CustomerSearchRepository {
+
+    public static final int MIN_TRIGRAM_LENGTH = 3;
+
+    private static final String FUZZY_SEARCH = """
+            SELECT id, name, email,
+                   GREATEST(similarity(lower(name), :term), similarity(lower(email), :term)) AS score,
+                   (lower(name) LIKE :prefix OR lower(email) LIKE :prefix) AS prefix_match
+            FROM customer_profiles
+            WHERE deleted_at IS NULL
+              AND (lower(name) % :term OR lower(email) % :term
+                   OR lower(name) LIKE :contains OR lower(email) LIKE :contains)
+            ORDER BY prefix_match DESC, score DESC, name
+            LIMIT :limit
+            """;
+
+    private static final String PREFIX_SEARCH = """
+            SELECT id, name, email, 1.0 AS score
+            FROM customer_profiles
+            WHERE deleted_at IS NULL
+              AND (lower(name) LIKE :prefix OR lower(email) LIKE :prefix)
+            ORDER BY name
+            LIMIT :limit
+            """;
+
+    private static final RowMapper<CustomerSearchResult> RESULT = (rs, i) -> new CustomerSearchResult(
+            rs.getObject("id", UUID.class),
+            rs.getString("name"),
+            rs.getString("email"),
+            rs.getDouble("score"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * {@code term} must already be trimmed and lower-cased
+     */
+    public List<CustomerSearchResult> search(String term, int limit) {
+        String escaped = escapeLike(term);
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("term", term)
+                .addValue("prefix", escaped + "%")
+                .addValue("contains", "%" + escaped + "%")
+                .addValue("limit", limit);
+
+        String sql = term.length() >= MIN_TRIGRAM_LENGTH ? FUZZY_SEARCH : PREFIX_SEARCH;
+        return jdbcTemplate.query(sql, params, RESULT);
+    }
+
+    // Backslash is PostgreSQL's default LIKE escape
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
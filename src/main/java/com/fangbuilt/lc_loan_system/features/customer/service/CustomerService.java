@@ -1,10 +1,17 @@
 package com.fangbuilt.lc_loan_system.features.customer.service;
 
+import com.fangbuilt.lc_loan_system.features.customer.api.dto.CustomerResponse;
+import com.fangbuilt.lc_loan_system.features.customer.api.dto.CustomerSearchResult;
 import com.fangbuilt.lc_loan_system.features.customer.domain.CustomerProfile;
 import com.fangbuilt.lc_loan_system.features.customer.repository.CustomerProfileRepository;
+import com.fangbuilt.lc_loan_system.features.customer.repository.CustomerSearchRepository;
 import com.fangbuilt.lc_loan_system.features.user.domain.User;
+import com.fangbuilt.lc_loan_system.shared.domain.PageRequest;
+import com.fangbuilt.lc_loan_system.shared.domain.PageResponse;
 import com.fangbuilt.lc_loan_system.shared.exception.BadRequestException;
 import com.fangbuilt.lc_loan_system.shared.exception.BusinessRuleViolationException;
+import com.fangbuilt.lc_loan_system.shared.filter.FilterOperator;
+import com.fangbuilt.lc_loan_system.shared.filter.FilterSchema;
 import com.fangbuilt.lc_loan_system.shared.service.BaseCrudService;
 import com.fangbuilt.lc_loan_system.shared.service.FileStorageService;
 import lombok.RequiredArgsConstructor;
@@ -14,14 +21,23 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class CustomerService extends BaseCrudService<CustomerProfile, CustomerProfileRepository> {
 
+    private static final int MAX_SEARCH_RESULTS = 100;
+
     private final CustomerProfileRepository repository;
+    private final CustomerSearchRepository searchRepository;
     private final FileStorageService fileStorageService;
 
     @Override
@@ -34,6 +50,15 @@ public class CustomerService extends BaseCrudService<CustomerProfile, CustomerPr
         return "CustomerProfile";
     }
 
+    @Override
+    protected void defineFilters(FilterSchema.Builder<CustomerProfile> filters) {
+        filters
+                .caseInsensitive("name", true, FilterOperator.EQ, FilterOperator.PREFIX)
+                .caseInsensitive("email", true, FilterOperator.EQ, FilterOperator.PREFIX)
+                .field("monthlyIncome", false, FilterOperator.EQ, FilterOperator.GTE, FilterOperator.LTE)
+                .field("createdAt", true, FilterOperator.GTE, FilterOperator.LTE);
+    }
+
     @Override
     protected void updateFields(CustomerProfile existing, CustomerProfile updated) {
         if (updated.getName() != null) existing.setName(updated.getName());
@@ -41,11 +66,70 @@ public class CustomerService extends BaseCrudService<CustomerProfile, CustomerPr
         if (updated.getMonthlyIncome() != null) existing.setMonthlyIncome(updated.getMonthlyIncome());
     }
 
+    @Override
+    protected Map<String, Object> bulkUpdateValues(CustomerProfile template) {
+        Map<String, Object> values = new HashMap<>();
+        if (template.getName() != null) values.put("name", template.getName());
+        if (template.getEmail() != null) values.put("email", template.getEmail());
+        if (template.getMonthlyIncome() != null) values.put("monthlyIncome", template.getMonthlyIncome());
+        return values;
+    }
+
+    @Transactional(readOnly = true)
     public CustomerProfile findByUserId(UUID userId) {
         return repository.findByUserId(userId)
                 .orElseThrow(() -> new BadRequestException("Customer profile not found for user"));
     }
 
+    /**
+     * Just the profile id for a user; no entity is loaded
+     */
+    @Transactional(readOnly = true)
+    public UUID findIdByUserId(UUID userId) {
+        return repository.findIdByUserId(userId)
+                .orElseThrow(() -> new BadRequestException("Customer profile not found for user"));
+    }
+
+    /**
+     * One page of customers as response DTOs, read in a read-only transaction
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<CustomerResponse> findResponsePage(PageRequest pageRequest) {
+        return findPage(pageRequest).map(CustomerResponse::from);
+    }
+
+    /**
+     * Ranked fuzzy search over name and email, at most {@code limit} hits
+     * (a limit above {@value #MAX_SEARCH_RESULTS} is capped to it)
+     */
+    @Transactional(readOnly = true)
+    public List<CustomerSearchResult> search(String query, int limit) {
+        String term = query == null ? "" : query.trim().toLowerCase();
+        if (term.isEmpty()) {
+            throw new BadRequestException("Search query must not be blank");
+        }
+        if (limit < 1) {
+            throw new BadRequestException("Search limit must be at least 1");
+        }
+        return searchRepository.search(term, Math.min(limit, MAX_SEARCH_RESULTS));
+    }
+
+    /**
+     * Unloaded reference for setting associations without reading the profile row
+     */
+    public CustomerProfile getReference(UUID id) {
+        return repository.getReferenceById(id);
+    }
+
+    /**
+     * Load many active profiles in one query, keyed by id (missing ids are simply absent)
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, CustomerProfile> findAllByIds(Collection<UUID> ids) {
+        return repository.findAllActiveByIdIn(ids).stream()
+                .collect(Collectors.toMap(CustomerProfile::getId, Function.identity()));
+    }
+
     /**
      * Upload KTP - STRICT RULE: Cannot re-upload if already exists
      */
@@ -86,6 +170,7 @@ public class CustomerService extends BaseCrudService<CustomerProfile, CustomerPr
         log.info("Salary slip uploaded for customer: {}", customerId);
     }
 
+    @Transactional(readOnly = true)
     public Resource getKtpDocument(UUID customerId) {
         CustomerProfile customer = findById(customerId);
         if (customer.getKtpPath() == null) {
@@ -94,6 +179,7 @@ public class CustomerService extends BaseCrudService<CustomerProfile, CustomerPr
         return fileStorageService.loadFileAsResource(customer.getKtpPath());
     }
 
+    @Transactional(readOnly = true)
     public Resource getSalarySlipDocument(UUID customerId) {
         CustomerProfile customer = findById(customerId);
         if (customer.getSalarySlipPath() == null) {
@@ -1,10 +1,16 @@
 package com.fangbuilt.lc_loan_system.features.loan.api;
 
-import com.fangbuilt.lc_loan_system.features.customer.domain.CustomerProfile;
-import com.fangbuilt.lc_loan_system.features.customer.service.CustomerService;
 import com.fangbuilt.lc_loan_system.features.loan.api.dto.ApplyLoanRequest;
+import com.fangbuilt.lc_loan_system.features.loan.api.dto.BatchApplyLoanRequest;
+import com.fangbuilt.lc_loan_system.features.loan.api.dto.BatchApplyLoanResponse;
 import com.fangbuilt.lc_loan_system.features.loan.api.dto.LoanResponse;
+import com.fangbuilt.lc_loan_system.features.loan.api.dto.LoanScheduleResponse;
+import com.fangbuilt.lc_loan_system.features.loan.domain.AmortizationMethod;
 import com.fangbuilt.lc_loan_system.features.loan.domain.Loan;
+import com.fangbuilt.lc_loan_system.features.loan.domain.LoanStatus;
+import com.fangbuilt.lc_loan_system.features.loan.service.LoanBatchService;
+import com.fangbuilt.lc_loan_system.features.loan.service.LoanExportFormat;
+import com.fangbuilt.lc_loan_system.features.loan.service.LoanExportService;
 import com.fangbuilt.lc_loan_system.features.loan.service.LoanService;
 import com.fangbuilt.lc_loan_system.features.user.domain.User;
 import io.swagger.v3.oas.annotations.Operation;
@@ -12,16 +18,21 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/loans")
@@ -31,7 +42,8 @@ import java.util.stream.Collectors;
 public class LoanController {
 
   private final LoanService service;
-  private final CustomerService customerService;
+  private final LoanBatchService batchService;
+  private final LoanExportService exportService;
 
   private User getCurrentUser() {
     Authentication auth = SecurityContextHolder.getContext().getAuthentication();
@@ -40,46 +52,80 @@ public class LoanController {
 
   @PostMapping
   @PreAuthorize("hasRole('CUSTOMER')")
-  @Operation(summary = "Apply for a loan (Customer only)")
+  @Operation(summary = "Apply for a loan (Customer only). Returns 202; the credit decision follows asynchronously")
   public ResponseEntity<LoanResponse> applyLoan(@Valid @RequestBody ApplyLoanRequest request) {
-    User currentUser = getCurrentUser();
-    CustomerProfile customer = customerService.findByUserId(currentUser.getId());
-
-    Loan loan = service.applyLoan(
-            customer.getId(),
+    LoanResponse loan = service.applyLoan(
+            getCurrentUser().getId(),
             request.getAmount(),
             request.getTenorMonths()
     );
-    return ResponseEntity.status(HttpStatus.CREATED).body(LoanResponse.from(loan));
+    return ResponseEntity.status(HttpStatus.ACCEPTED).body(loan);
+  }
+
+  @PostMapping("/batch")
+  @PreAuthorize("hasRole('ADMIN')")
+  @Operation(summary = "Apply for loans in bulk on behalf of customers (Admin only). Returns per-row outcomes")
+  public ResponseEntity<BatchApplyLoanResponse> applyLoans(@Valid @RequestBody BatchApplyLoanRequest request) {
+    BatchApplyLoanResponse response = batchService.applyLoans(request.getApplications());
+    return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
   }
 
   @GetMapping("/my-loans")
   @PreAuthorize("hasRole('CUSTOMER')")
   @Operation(summary = "Get my loans (Customer only)")
   public ResponseEntity<List<LoanResponse>> getMyLoans() {
-    List<LoanResponse> loans = service.getMyLoans()
-            .stream()
-            .map(LoanResponse::from)
-            .collect(Collectors.toList());
-    return ResponseEntity.ok(loans);
+    return ResponseEntity.ok(service.getMyLoans());
+  }
+
+  @GetMapping("/export")
+  @PreAuthorize("hasRole('ADMIN')")
+  @Operation(summary = "Stream all loans as NDJSON or CSV (Admin only). Optional status and created-at [from, to) filters")
+  public ResponseEntity<StreamingResponseBody> exportLoans(
+          @RequestParam(defaultValue = "NDJSON") LoanExportFormat format,
+          @RequestParam(required = false) LoanStatus status,
+          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+          @RequestParam(defaultValue = "false") boolean gzip
+  ) {
+    StreamingResponseBody body = out -> {
+      if (gzip) {
+        try (GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024)) {
+          exportService.export(status, from, to, format, compressed);
+        }
+      } else {
+        exportService.export(status, from, to, format, out);
+      }
+    };
+
+    // Compressed exports are served as a .gz file, not a transparently encoded body, so
+    // clients and proxies neither decode them nor recompress them
+    String filename = "loans." + format.getExtension() + (gzip ? ".gz" : "");
+    return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : format.getContentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+            .body(body);
   }
 
   @GetMapping("/{id}")
   @Operation(summary = "Get loan by ID (Customer: own loans only, Admin: all)")
   public ResponseEntity<LoanResponse> getLoanById(@PathVariable UUID id) {
+    return ResponseEntity.ok(service.getLoanResponse(id));
+  }
+
+  @GetMapping("/{id}/schedule")
+  @Operation(summary = "Get the repayment schedule of an approved loan (Customer: own loans only, Admin: all)")
+  public ResponseEntity<LoanScheduleResponse> getSchedule(
+          @PathVariable UUID id,
+          @RequestParam(defaultValue = "ANNUITY") AmortizationMethod method
+  ) {
     Loan loan = service.findById(id);
-    return ResponseEntity.ok(LoanResponse.from(loan));
+    return ResponseEntity.ok(LoanScheduleResponse.from(loan, service.getSchedule(loan, method)));
   }
 
   @GetMapping
   @PreAuthorize("hasRole('ADMIN')")
   @Operation(summary = "Get all loans (Admin only)")
   public ResponseEntity<List<LoanResponse>> getAllLoans() {
-    List<LoanResponse> loans = service.getAllLoans()
-            .stream()
-            .map(LoanResponse::from)
-            .collect(Collectors.toList());
-
-    return ResponseEntity.ok(loans);
+    return ResponseEntity.ok(service.getAllLoans());
   }
 }
\ No newline at end of file
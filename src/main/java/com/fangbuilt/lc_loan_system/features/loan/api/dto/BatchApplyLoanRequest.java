@@ -0,0 +1,34 @@
+package com.fangbuilt.lc_loan_system.features.loan.api.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class BatchApplyLoanRequest {
+    @NotEmpty(message = "Applications are required")
+    @Size(max = 10000, message = "At most 10000 applications per batch")
+    private List<@Valid @NotNull Application> applications;
+
+    @Data
+    public static class Application {
+        @NotNull(message = "Customer is required")
+        private UUID customerId;
+
+        @NotNull(message = "Amount is required")
+        @DecimalMin(value = "0.0", inclusive = false, message = "Amount must be greater than 0")
+        private BigDecimal amount;
+
+        @NotNull(message = "Tenor is required")
+        @Min(value = 1, message = "Tenor must be at least 1 month")
+        private Integer tenorMonths;
+    }
+}
@@ -0,0 +1,42 @@
+package com.fangbuilt.lc_loan_system.features.loan.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchApplyLoanResponse {
+
+  private int accepted;
+  private int rejected;
+  private List<Result> results;
+
+  public enum Outcome {
+    ACCEPTED,
+    REJECTED
+  }
+
+  /**
+   * Outcome of one row; index is the position in the request
+   */
+  public record Result(int index, UUID customerId, Outcome outcome, UUID loanId, String message) {
+
+    public static Result accepted(int index, UUID customerId, UUID loanId) {
+      return new Result(index, customerId, Outcome.ACCEPTED, loanId, null);
+    }
+
+    public static Result rejected(int index, UUID customerId, String message) {
+      return new Result(index, customerId, Outcome.REJECTED, null, message);
+    }
+  }
+
+  public static BatchApplyLoanResponse of(List<Result> results) {
+    int accepted = (int) results.stream().filter(r -> r.outcome() == Outcome.ACCEPTED).count();
+    return new BatchApplyLoanResponse(accepted, results.size() - accepted, results);
+  }
+}
@@ -1,6 +1,7 @@
 package com.fangbuilt.lc_loan_system.features.loan.api.dto;
 
 import com.fangbuilt.lc_loan_system.features.loan.domain.Loan;
+import com.fangbuilt.lc_loan_system.features.loan.domain.LoanApplicant;
 import com.fangbuilt.lc_loan_system.features.loan.domain.LoanStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -53,4 +54,23 @@ public class LoanResponse {
             .updatedAt(loan.getUpdatedAt())
             .build();
   }
-}
\ No newline at end of file
+
+  /**
+   * Convert a freshly applied loan whose customer is only a reference, using the
+   * applicant data already read for the pre-checks
+   */
+  public static LoanResponse from(Loan loan, LoanApplicant applicant) {
+    return LoanResponse.builder()
+            .id(loan.getId())
+            .amount(loan.getAmount())
+            .tenorMonths(loan.getTenorMonths())
+            .interestRate(loan.getInterestRate())
+            .status(loan.getStatus())
+            .customerId(applicant.customerId())
+            .customerName(applicant.name())
+            .customerEmail(applicant.email())
+            .createdAt(loan.getCreatedAt())
+            .updatedAt(loan.getUpdatedAt())
+            .build();
+  }
+}
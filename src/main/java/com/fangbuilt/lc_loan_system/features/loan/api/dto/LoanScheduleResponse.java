@@ -0,0 +1,71 @@
+package com.fangbuilt.lc_loan_system.features.loan.api.dto;
+
+import com.fangbuilt.lc_loan_system.features.loan.domain.AmortizationMethod;
+import com.fangbuilt.lc_loan_system.features.loan.domain.Loan;
+import com.fangbuilt.lc_loan_system.features.loan.schedule.AmortizationSchedule;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.fangbuilt.lc_loan_system.features.loan.schedule.AmortizationSchedule.toAmount;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoanScheduleResponse {
+
+  private UUID loanId;
+  private AmortizationMethod method;
+  private BigDecimal amount;
+  private BigDecimal interestRate;
+  private Integer tenorMonths;
+  private BigDecimal totalPayment;
+  private BigDecimal totalInterest;
+  private List<Installment> installments;
+
+  public record Installment(
+          int number,
+          LocalDate dueDate,
+          BigDecimal payment,
+          BigDecimal principal,
+          BigDecimal interest,
+          BigDecimal balance
+  ) {}
+
+  /**
+   * Installments fall due monthly from the approval date
+   */
+  public static LoanScheduleResponse from(Loan loan, AmortizationSchedule schedule) {
+    LocalDate approvedOn = loan.getApprovedAt().toLocalDate();
+    List<Installment> installments = new ArrayList<>(schedule.installments());
+    for (int m = 0; m < schedule.installments(); m++) {
+      installments.add(new Installment(
+              m + 1,
+              approvedOn.plusMonths(m + 1),
+              toAmount(schedule.payment()[m]),
+              toAmount(schedule.principal()[m]),
+              toAmount(schedule.interest()[m]),
+              toAmount(schedule.balance()[m])
+      ));
+    }
+
+    return LoanScheduleResponse.builder()
+            .loanId(loan.getId())
+            .method(schedule.method())
+            .amount(toAmount(schedule.principalMinor()))
+            .interestRate(loan.getInterestRate())
+            .tenorMonths(loan.getTenorMonths())
+            .totalPayment(toAmount(schedule.totalPayment()))
+            .totalInterest(toAmount(schedule.totalInterest()))
+            .installments(installments)
+            .build();
+  }
+}
@@ -0,0 +1,19 @@
+package com.fangbuilt.lc_loan_system.features.loan.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "loan.decision")
+public class LoanDecisionProperties {
+
+    private int queueCapacity = 1000;           // loans waiting for a credit score
+    private int maxConcurrency = 32;            // bureau calls in flight at once
+    private Duration staleAfter = Duration.ofMinutes(2);  // PENDING age before the sweep re-queues it
+    private int recoveryBatchSize = 200;
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+}
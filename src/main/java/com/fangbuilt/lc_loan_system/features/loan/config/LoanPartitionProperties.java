@@ -0,0 +1,23 @@
+package com.fangbuilt.lc_loan_system.features.loan.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Period;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "loan.partitions")
+public class LoanPartitionProperties {
+
+    private int monthsAhead = 3;                 // monthly partitions kept ready beyond the current month
+    private Period retention;                    // null keeps every partition
+    private RetentionAction retentionAction = RetentionAction.ARCHIVE;
+    private String archiveSchema = "loan_archive";
+
+    public enum RetentionAction {
+        ARCHIVE,  // detach and move to archiveSchema, out of the application's queries
+        DROP
+    }
+}
@@ -0,0 +1,8 @@
+package com.fangbuilt.lc_loan_system.features.loan.domain;
+
+public enum AmortizationMethod {
+    /** Equal monthly payments; interest on the outstanding balance, so the principal share grows */
+    ANNUITY,
+    /** Interest on the original amount for the whole tenor, split evenly alongside the principal */
+    FLAT
+}
@@ -2,6 +2,7 @@ package com.fangbuilt.lc_loan_system.features.loan.domain;
 
 import com.fangbuilt.lc_loan_system.features.customer.domain.CustomerProfile;
 import com.fangbuilt.lc_loan_system.shared.domain.BaseEntity;
+import com.fangbuilt.lc_loan_system.shared.domain.UuidV7;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -10,6 +11,9 @@ import lombok.Setter;
 
 import java.io.Serializable;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
 
 @Entity
 @Table(name = "loans")
@@ -19,6 +23,8 @@ import java.math.BigDecimal;
 @AllArgsConstructor
 public class Loan extends BaseEntity implements Serializable {
     
+    private static final LocalDateTime NO_LOWER_BOUND = LocalDateTime.of(1970, 1, 1, 0, 0);
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id", nullable = false)
     private CustomerProfile customer;
@@ -42,6 +48,9 @@ public class Loan extends BaseEntity implements Serializable {
     @Column
     private Integer creditScore;
     
+    @Column
+    private LocalDateTime approvedAt;
+    
     public boolean isPending() {
         return status == LoanStatus.PENDING;
     }
@@ -58,6 +67,7 @@ public class Loan extends BaseEntity implements Serializable {
         this.status = LoanStatus.APPROVED;
         this.interestRate = interestRate;
         this.creditScore = creditScore;
+        this.approvedAt = LocalDateTime.now();
     }
     
     public void reject(String reason, Integer creditScore) {
@@ -65,4 +75,16 @@ public class Loan extends BaseEntity implements Serializable {
         this.rejectionReason = reason;
         this.creditScore = creditScore;
     }
+    
+    /**
+     * Earliest createdAt a loan with this id can have. The table is partitioned by created_at,
+     * and v7 ids are minted before the row is written, so lookups by id add this bound to skip
+     * older partitions. A day of slack covers clock and zone skew; older non-v7 ids get no bound.
+     */
+    public static LocalDateTime createdNotBefore(UUID id) {
+        if (id.version() != 7) {
+            return NO_LOWER_BOUND;
+        }
+        return LocalDateTime.ofInstant(UuidV7.timestampOf(id), ZoneId.systemDefault()).minusDays(1);
+    }
 }
@@ -0,0 +1,18 @@
+package com.fangbuilt.lc_loan_system.features.loan.domain;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Everything the loan application pre-checks need about the applicant, read in one query
+ */
+public record LoanApplicant(
+        UUID customerId,
+        String name,
+        String email,
+        BigDecimal monthlyIncome,
+        boolean ktpUploaded,
+        boolean salarySlipUploaded,
+        boolean pendingLoanExists
+) {
+}
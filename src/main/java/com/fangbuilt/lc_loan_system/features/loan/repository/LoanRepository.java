@@ -1,13 +1,24 @@
 package com.fangbuilt.lc_loan_system.features.loan.repository;
 
+import com.fangbuilt.lc_loan_system.features.loan.api.dto.LoanResponse;
 import com.fangbuilt.lc_loan_system.features.loan.domain.Loan;
+import com.fangbuilt.lc_loan_system.features.loan.domain.LoanApplicant;
 import com.fangbuilt.lc_loan_system.features.loan.domain.LoanStatus;
 import com.fangbuilt.lc_loan_system.shared.repository.BaseRepository;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
@@ -15,8 +26,136 @@ public interface LoanRepository extends BaseRepository<Loan> {
 
     List<Loan> findByCustomerId(UUID customerId);
 
+    @Override
+    default Optional<Loan> findByIdActive(UUID id) {
+        return findByIdActive(id, Loan.createdNotBefore(id));
+    }
+
+    @Override
+    default void softDelete(UUID id, LocalDateTime now) {
+        softDelete(id, Loan.createdNotBefore(id), now);
+    }
+
+    /**
+     * Soft delete with the createdAt bound, so partitions older than the id are not scanned
+     */
+    @Modifying
+    @Query("UPDATE Loan l SET l.deletedAt = :now WHERE l.id = :id AND l.createdAt >= :notBefore")
+    void softDelete(@Param("id") UUID id, @Param("notBefore") LocalDateTime notBefore, @Param("now") LocalDateTime now);
+
+    /**
+     * Loan with its customer fetched in the same statement. The createdAt bound
+     * (see Loan#createdNotBefore) lets Postgres prune partitions older than the id.
+     */
+    @EntityGraph(attributePaths = "customer")
+    @Query("SELECT l FROM Loan l WHERE l.id = :id AND l.createdAt >= :notBefore AND l.deletedAt IS NULL")
+    Optional<Loan> findByIdActive(@Param("id") UUID id, @Param("notBefore") LocalDateTime notBefore);
+
+    /**
+     * A customer's loans, keyed by their user id, projected into the response in one statement
+     */
+    @Query("SELECT new com.fangbuilt.lc_loan_system.features.loan.api.dto.LoanResponse(" +
+            "l.id, l.amount, l.tenorMonths, l.interestRate, l.status, l.creditScore, l.rejectionReason, " +
+            "c.id, c.name, c.email, l.createdAt, l.updatedAt) " +
+            "FROM Loan l JOIN l.customer c " +
+            "WHERE c.user.id = :userId AND l.deletedAt IS NULL ORDER BY l.createdAt DESC")
+    List<LoanResponse> findResponsesByUserId(@Param("userId") UUID userId);
+
+    /**
+     * One loan projected into the response, whoever owns it (admin view)
+     */
+    @Query("SELECT new com.fangbuilt.lc_loan_system.features.loan.api.dto.LoanResponse(" +
+            "l.id, l.amount, l.tenorMonths, l.interestRate, l.status, l.creditScore, l.rejectionReason, " +
+            "c.id, c.name, c.email, l.createdAt, l.updatedAt) " +
+            "FROM Loan l JOIN l.customer c " +
+            "WHERE l.id = :id AND l.createdAt >= :notBefore AND l.deletedAt IS NULL")
+    Optional<LoanResponse> findResponseById(@Param("id") UUID id, @Param("notBefore") LocalDateTime notBefore);
+
+    default Optional<LoanResponse> findResponseById(UUID id) {
+        return findResponseById(id, Loan.createdNotBefore(id));
+    }
+
+    /**
+     * One loan projected into the response, only if the given user owns it
+     */
+    @Query("SELECT new com.fangbuilt.lc_loan_system.features.loan.api.dto.LoanResponse(" +
+            "l.id, l.amount, l.tenorMonths, l.interestRate, l.status, l.creditScore, l.rejectionReason, " +
+            "c.id, c.name, c.email, l.createdAt, l.updatedAt) " +
+            "FROM Loan l JOIN l.customer c " +
+            "WHERE l.id = :id AND l.createdAt >= :notBefore AND l.deletedAt IS NULL AND c.user.id = :userId")
+    Optional<LoanResponse> findResponseByIdAndUserId(@Param("id") UUID id, @Param("notBefore") LocalDateTime notBefore,
+                                                     @Param("userId") UUID userId);
+
+    default Optional<LoanResponse> findResponseByIdAndUserId(UUID id, UUID userId) {
+        return findResponseByIdAndUserId(id, Loan.createdNotBefore(id), userId);
+    }
+
+    /**
+     * Every active loan projected into the response in one statement
+     */
+    @Query("SELECT new com.fangbuilt.lc_loan_system.features.loan.api.dto.LoanResponse(" +
+            "l.id, l.amount, l.tenorMonths, l.interestRate, l.status, l.creditScore, l.rejectionReason, " +
+            "c.id, c.name, c.email, l.createdAt, l.updatedAt) " +
+            "FROM Loan l JOIN l.customer c " +
+            "WHERE l.deletedAt IS NULL ORDER BY l.createdAt DESC")
+    List<LoanResponse> findAllResponses();
+
     @Query("SELECT CASE WHEN COUNT(l) > 0 THEN true ELSE false END FROM Loan l " +
             "WHERE l.customer.id = :customerId AND l.status = :status AND l.deletedAt IS NULL")
     boolean existsByCustomerIdAndStatus(@Param("customerId") UUID customerId,
                                         @Param("status") LoanStatus status);
-}
\ No newline at end of file
+
+    /**
+     * Applicant profile, document presence and pending-loan flag for a user in one round trip
+     */
+    @Query("SELECT new com.fangbuilt.lc_loan_system.features.loan.domain.LoanApplicant(" +
+            "cp.id, cp.name, cp.email, cp.monthlyIncome, " +
+            "CASE WHEN cp.ktpPath IS NOT NULL AND cp.ktpPath <> '' THEN true ELSE false END, " +
+            "CASE WHEN cp.salarySlipPath IS NOT NULL AND cp.salarySlipPath <> '' THEN true ELSE false END, " +
+            "CASE WHEN EXISTS (SELECT 1 FROM Loan l WHERE l.customer.id = cp.id " +
+            "AND l.status = com.fangbuilt.lc_loan_system.features.loan.domain.LoanStatus.PENDING " +
+            "AND l.deletedAt IS NULL) THEN true ELSE false END) " +
+            "FROM CustomerProfile cp WHERE cp.user.id = :userId AND cp.deletedAt IS NULL")
+    Optional<LoanApplicant> findApplicantByUserId(@Param("userId") UUID userId);
+
+    /**
+     * Which of the given customers have a loan in the given status (set-based pre-check for batches)
+     */
+    @Query("SELECT DISTINCT l.customer.id FROM Loan l " +
+            "WHERE l.customer.id IN :customerIds AND l.status = :status AND l.deletedAt IS NULL")
+    Set<UUID> findCustomerIdsWithStatus(@Param("customerIds") Collection<UUID> customerIds,
+                                        @Param("status") LoanStatus status);
+
+    /**
+     * Customer id of a loan that is still awaiting a credit decision
+     */
+    @Query("SELECT l.customer.id FROM Loan l WHERE l.id = :id AND l.createdAt >= :notBefore " +
+            "AND l.status = com.fangbuilt.lc_loan_system.features.loan.domain.LoanStatus.PENDING " +
+            "AND l.deletedAt IS NULL")
+    Optional<UUID> findPendingCustomerId(@Param("id") UUID id, @Param("notBefore") LocalDateTime notBefore);
+
+    default Optional<UUID> findPendingCustomerId(UUID id) {
+        return findPendingCustomerId(id, Loan.createdNotBefore(id));
+    }
+
+    /**
+     * Lock a PENDING loan so only one worker can apply the decision
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM Loan l WHERE l.id = :id AND l.createdAt >= :notBefore " +
+            "AND l.status = com.fangbuilt.lc_loan_system.features.loan.domain.LoanStatus.PENDING " +
+            "AND l.deletedAt IS NULL")
+    Optional<Loan> findPendingForUpdate(@Param("id") UUID id, @Param("notBefore") LocalDateTime notBefore);
+
+    default Optional<Loan> findPendingForUpdate(UUID id) {
+        return findPendingForUpdate(id, Loan.createdNotBefore(id));
+    }
+
+    /**
+     * PENDING loans untouched since the given time (orphaned by a crash or a full queue)
+     */
+    @Query("SELECT l.id FROM Loan l " +
+            "WHERE l.status = com.fangbuilt.lc_loan_system.features.loan.domain.LoanStatus.PENDING " +
+            "AND l.updatedAt < :before AND l.deletedAt IS NULL ORDER BY l.updatedAt")
+    List<UUID> findStalePendingIds(@Param("before") LocalDateTime before, Pageable pageable);
+}
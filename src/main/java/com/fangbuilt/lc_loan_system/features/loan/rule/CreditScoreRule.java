@@ -0,0 +1,52 @@
+package com.fangbuilt.lc_loan_system.features.loan.rule;
+
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * BUSINESS RULE 4: Credit Score Integration
+ *
+ * Score >= 700: APPROVED (10% interest)
+ * Score 600-699: APPROVED (15% interest)
+ * Score < 600: REJECTED
+ */
+@Component
+public class CreditScoreRule implements EligibilityRule {
+
+    public static final int EXCELLENT_SCORE = 700;
+    public static final int MINIMUM_SCORE = 600;
+
+    private static final BigDecimal EXCELLENT_RATE = BigDecimal.valueOf(10.0);
+    private static final BigDecimal GOOD_RATE = BigDecimal.valueOf(15.0);
+
+    @Override
+    public String name() {
+        return "credit-score";
+    }
+
+    @Override
+    public RuleCost cost() {
+        return RuleCost.REMOTE;
+    }
+
+    @Override
+    public RuleResult evaluate(LoanApplicationContext context) {
+        if (context.getCreditScore() == null) {
+            return RuleResult.fail(name(), "Credit score not available");
+        }
+
+        if (context.getCreditScore() < MINIMUM_SCORE) {
+            return RuleResult.fail(name(), "Credit score too low");
+        }
+
+        return RuleResult.pass(name());
+    }
+
+    /**
+     * Interest rate for a score that passed this rule
+     */
+    public static BigDecimal interestRateFor(int creditScore) {
+        return creditScore >= EXCELLENT_SCORE ? EXCELLENT_RATE : GOOD_RATE;
+    }
+}
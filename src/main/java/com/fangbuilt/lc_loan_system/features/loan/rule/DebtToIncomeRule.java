@@ -0,0 +1,44 @@
+package com.fangbuilt.lc_loan_system.features.loan.rule;
+
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * BUSINESS RULE 3: Debt to Income Ratio
+ * maxLoanAllowed = monthlyIncome × 12
+ */
+@Component
+public class DebtToIncomeRule implements EligibilityRule {
+
+    private static final BigDecimal MONTHS_OF_INCOME = BigDecimal.valueOf(12);
+
+    @Override
+    public String name() {
+        return "debt-to-income";
+    }
+
+    @Override
+    public RuleCost cost() {
+        return RuleCost.IN_MEMORY;
+    }
+
+    @Override
+    public int order() {
+        return 1;
+    }
+
+    @Override
+    public RuleResult evaluate(LoanApplicationContext context) {
+        BigDecimal maxLoanAllowed = context.getMonthlyIncome().multiply(MONTHS_OF_INCOME);
+
+        if (context.getAmount().compareTo(maxLoanAllowed) > 0) {
+            return RuleResult.fail(name(), String.format(
+                "Loan amount (%s) exceeds maximum allowed (%s) based on monthly income (%s)",
+                context.getAmount(), maxLoanAllowed, context.getMonthlyIncome()
+            ));
+        }
+
+        return RuleResult.pass(name());
+    }
+}
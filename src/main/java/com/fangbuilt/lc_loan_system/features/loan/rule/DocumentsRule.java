@@ -0,0 +1,33 @@
+package com.fangbuilt.lc_loan_system.features.loan.rule;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * BUSINESS RULE 1: Customer must upload KTP and Salary Slip
+ */
+@Component
+public class DocumentsRule implements EligibilityRule {
+
+    @Override
+    public String name() {
+        return "documents";
+    }
+
+    @Override
+    public RuleCost cost() {
+        return RuleCost.IN_MEMORY;
+    }
+
+    @Override
+    public RuleResult evaluate(LoanApplicationContext context) {
+        if (!context.isKtpUploaded()) {
+            return RuleResult.fail(name(), "KTP document must be uploaded before applying for a loan");
+        }
+
+        if (!context.isSalarySlipUploaded()) {
+            return RuleResult.fail(name(), "Salary slip document must be uploaded before applying for a loan");
+        }
+
+        return RuleResult.pass(name());
+    }
+}
@@ -0,0 +1,28 @@
+package com.fangbuilt.lc_loan_system.features.loan.rule;
+
+import com.fangbuilt.lc_loan_system.shared.exception.BusinessRuleViolationException;
+
+/**
+ * Outcome of a rule chain: eligible, or the first rule that failed
+ */
+public record EligibilityResult(boolean eligible, String failedRule, String reason) {
+
+    private static final EligibilityResult ELIGIBLE = new EligibilityResult(true, null, null);
+
+    public static EligibilityResult passed() {
+        return ELIGIBLE;
+    }
+
+    public static EligibilityResult failed(RuleResult result) {
+        return new EligibilityResult(false, result.rule(), result.reason());
+    }
+
+    /**
+     * For request paths that report a failed rule as a 409
+     */
+    public void orElseThrow() {
+        if (!eligible) {
+            throw new BusinessRuleViolationException(reason);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.fangbuilt.lc_loan_system.features.loan.rule;
+
+/**
+ * A single loan eligibility check. Implementations are Spring beans picked up by
+ * {@link EligibilityRuleEngine}; they report failure through {@link RuleResult}, not exceptions.
+ */
+public interface EligibilityRule {
+
+    String name();
+
+    RuleCost cost();
+
+    /**
+     * Tie-breaker between rules of the same cost, lower runs first
+     */
+    default int order() {
+        return 0;
+    }
+
+    RuleResult evaluate(LoanApplicationContext context);
+}
@@ -0,0 +1,86 @@
+package com.fangbuilt.lc_loan_system.features.loan.rule;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluates loan eligibility rules cheapest-first and stops at the first failure.
+ *
+ * All {@link EligibilityRule} beans are sorted once at startup by cost, then order, into an
+ * immutable chain. Callers evaluate a cost range of it, e.g. the in-memory and database
+ * rules while handling the request, and the remote (credit score) rule in the decision worker.
+ */
+@Slf4j
+@Component
+public class EligibilityRuleEngine {
+
+    private final CompiledRule[] chain;
+    private final int[] costStart;  // index of the first rule with cost >= RuleCost.values()[i]
+
+    public EligibilityRuleEngine(List<EligibilityRule> rules, MeterRegistry meterRegistry) {
+        this.chain = rules.stream()
+                .sorted(Comparator.comparing(EligibilityRule::cost).thenComparingInt(EligibilityRule::order))
+                .map(rule -> new CompiledRule(rule,
+                        timer(meterRegistry, rule, "pass"),
+                        timer(meterRegistry, rule, "fail")))
+                .toArray(CompiledRule[]::new);
+
+        RuleCost[] costs = RuleCost.values();
+        this.costStart = new int[costs.length + 1];
+        for (int c = 0, i = 0; c < costs.length; c++) {
+            while (i < chain.length && chain[i].rule().cost().ordinal() < c) {
+                i++;
+            }
+            costStart[c] = i;
+        }
+        costStart[costs.length] = chain.length;
+
+        log.info("Eligibility rule chain: {}", Arrays.stream(chain)
+                .map(c -> c.rule().name() + "(" + c.rule().cost() + ")")
+                .toList());
+    }
+
+    /**
+     * Run the whole chain
+     */
+    public EligibilityResult evaluate(LoanApplicationContext context) {
+        return evaluate(context, RuleCost.IN_MEMORY, RuleCost.REMOTE);
+    }
+
+    /**
+     * Run only the rules whose cost lies in [from, to]
+     */
+    public EligibilityResult evaluate(LoanApplicationContext context, RuleCost from, RuleCost to) {
+        int end = costStart[to.ordinal() + 1];
+        for (int i = costStart[from.ordinal()]; i < end; i++) {
+            CompiledRule compiled = chain[i];
+            long start = System.nanoTime();
+            RuleResult result = compiled.rule().evaluate(context);
+            long elapsed = System.nanoTime() - start;
+
+            if (!result.passed()) {
+                compiled.failTimer().record(elapsed, TimeUnit.NANOSECONDS);
+                return EligibilityResult.failed(result);
+            }
+            compiled.passTimer().record(elapsed, TimeUnit.NANOSECONDS);
+        }
+        return EligibilityResult.passed();
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, EligibilityRule rule, String outcome) {
+        return Timer.builder("loan.rule.evaluation")
+                .tag("rule", rule.name())
+                .tag("cost", rule.cost().name().toLowerCase())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record CompiledRule(EligibilityRule rule, Timer passTimer, Timer failTimer) {}
+}
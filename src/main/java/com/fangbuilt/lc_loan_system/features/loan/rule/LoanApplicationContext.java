@@ -0,0 +1,50 @@
+package com.fangbuilt.lc_loan_system.features.loan.rule;
+
+import com.fangbuilt.lc_loan_system.features.customer.domain.CustomerProfile;
+import com.fangbuilt.lc_loan_system.features.loan.domain.LoanApplicant;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Everything the eligibility rules look at for one application.
+ * Null {@code pendingLoanExists} means not preloaded; null {@code creditScore} means not yet fetched.
+ */
+@Getter
+@Builder(toBuilder = true)
+public class LoanApplicationContext {
+
+    private final UUID customerId;
+    private final BigDecimal monthlyIncome;
+    private final boolean ktpUploaded;
+    private final boolean salarySlipUploaded;
+    private final BigDecimal amount;
+    private final Integer tenorMonths;
+    private final Boolean pendingLoanExists;
+    private final Integer creditScore;
+
+    public static LoanApplicationContext of(CustomerProfile customer, BigDecimal amount, Integer tenorMonths) {
+        return LoanApplicationContext.builder()
+                .customerId(customer.getId())
+                .monthlyIncome(customer.getMonthlyIncome())
+                .ktpUploaded(customer.hasUploadedKtp())
+                .salarySlipUploaded(customer.hasUploadedSalarySlip())
+                .amount(amount)
+                .tenorMonths(tenorMonths)
+                .build();
+    }
+
+    public static LoanApplicationContext of(LoanApplicant applicant, BigDecimal amount, Integer tenorMonths) {
+        return LoanApplicationContext.builder()
+                .customerId(applicant.customerId())
+                .monthlyIncome(applicant.monthlyIncome())
+                .ktpUploaded(applicant.ktpUploaded())
+                .salarySlipUploaded(applicant.salarySlipUploaded())
+                .amount(amount)
+                .tenorMonths(tenorMonths)
+                .pendingLoanExists(applicant.pendingLoanExists())
+                .build();
+    }
+}
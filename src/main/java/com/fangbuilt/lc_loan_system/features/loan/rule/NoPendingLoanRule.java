@@ -0,0 +1,42 @@
+package com.fangbuilt.lc_loan_system.features.loan.rule;
+
+import com.fangbuilt.lc_loan_system.features.loan.domain.LoanStatus;
+import com.fangbuilt.lc_loan_system.features.loan.repository.LoanRepository;
+import com.fangbuilt.lc_loan_system.features.loan.service.PendingLoanGuard;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * BUSINESS RULE 2: Customer cannot have multiple pending loans.
+ * Uses the preloaded flag when the caller has one, otherwise queries. This is the early,
+ * friendly check; {@link PendingLoanGuard} and the database index close the race.
+ */
+@Component
+@RequiredArgsConstructor
+public class NoPendingLoanRule implements EligibilityRule {
+
+    private final LoanRepository repository;
+
+    @Override
+    public String name() {
+        return "no-pending-loan";
+    }
+
+    @Override
+    public RuleCost cost() {
+        return RuleCost.DATABASE;
+    }
+
+    @Override
+    public RuleResult evaluate(LoanApplicationContext context) {
+        boolean hasPendingLoan = context.getPendingLoanExists() != null
+                ? context.getPendingLoanExists()
+                : repository.existsByCustomerIdAndStatus(context.getCustomerId(), LoanStatus.PENDING);
+
+        if (hasPendingLoan) {
+            return RuleResult.fail(name(), PendingLoanGuard.PENDING_LOAN_MESSAGE);
+        }
+
+        return RuleResult.pass(name());
+    }
+}
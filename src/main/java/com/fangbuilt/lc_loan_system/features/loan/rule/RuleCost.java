@@ -0,0 +1,10 @@
+package com.fangbuilt.lc_loan_system.features.loan.rule;
+
+/**
+ * How expensive a rule is to evaluate; chains run cheapest first
+ */
+public enum RuleCost {
+    IN_MEMORY,
+    DATABASE,
+    REMOTE
+}
@@ -0,0 +1,12 @@
+package com.fangbuilt.lc_loan_system.features.loan.rule;
+
+public record RuleResult(String rule, boolean passed, String reason) {
+
+    public static RuleResult pass(String rule) {
+        return new RuleResult(rule, true, null);
+    }
+
+    public static RuleResult fail(String rule, String reason) {
+        return new RuleResult(rule, false, reason);
+    }
+}
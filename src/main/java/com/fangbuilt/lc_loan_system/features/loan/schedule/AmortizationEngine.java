@@ -0,0 +1,142 @@
+package com.fangbuilt.lc_loan_system.features.loan.schedule;
+
+import com.fangbuilt.lc_loan_system.features.loan.domain.AmortizationMethod;
+import com.fangbuilt.lc_loan_system.features.loan.domain.Loan;
+import com.fangbuilt.lc_loan_system.shared.exception.BadRequestException;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Builds amortization schedules on {@code long} minor-unit arithmetic.
+ *
+ * Rounding rules, applied once per figure and never chained:
+ * <ul>
+ *   <li>Monthly interest is rounded HALF_EVEN to the minor unit.</li>
+ *   <li>The annuity payment is computed in {@code double} with {@link StrictMath} and rounded
+ *       HALF_UP to the minor unit once at the end. StrictMath and strict IEEE arithmetic make it
+ *       bit-identical on every JVM; it can differ from the exact decimal value by one minor unit
+ *       only when that value sits a few ulps from a half, and the last installment absorbs the
+ *       difference like any other residual.</li>
+ *   <li>Flat principal and interest shares are truncated; the last installment absorbs every
+ *       residual so the principal repaid always equals the loan amount exactly.</li>
+ * </ul>
+ * The annual rate is taken in basis points ({@code interestRate} 10.00 = 1000 bp), so the
+ * monthly rate is {@code bp / 120_000}.
+ */
+@Component
+public class AmortizationEngine {
+
+    private static final long MONTHLY_RATE_DENOMINATOR = 12L * 100 * 100;
+
+    public AmortizationSchedule generate(Loan loan, AmortizationMethod method) {
+        return generate(toMinor(loan.getAmount()), toBasisPoints(loan.getInterestRate()), loan.getTenorMonths(), method);
+    }
+
+    /**
+     * Portfolio variant: schedules for many loans, keyed by loan id, computed in parallel
+     */
+    public Map<UUID, AmortizationSchedule> generateAll(Collection<Loan> loans, AmortizationMethod method) {
+        return loans.parallelStream()
+                .collect(Collectors.toConcurrentMap(Loan::getId, loan -> generate(loan, method)));
+    }
+
+    public AmortizationSchedule generate(long principalMinor, long annualRateBp, int months, AmortizationMethod method) {
+        if (principalMinor <= 0 || months <= 0 || annualRateBp < 0) {
+            throw new BadRequestException("Cannot build a schedule for amount " + principalMinor
+                    + ", rate " + annualRateBp + "bp over " + months + " months");
+        }
+
+        return switch (method) {
+            case ANNUITY -> annuity(principalMinor, annualRateBp, months);
+            case FLAT -> flat(principalMinor, annualRateBp, months);
+        };
+    }
+
+    private AmortizationSchedule annuity(long principalMinor, long annualRateBp, int months) {
+        long[] payment = new long[months];
+        long[] principal = new long[months];
+        long[] interest = new long[months];
+        long[] balance = new long[months];
+
+        long level = annuityPayment(principalMinor, annualRateBp, months);
+        long outstanding = principalMinor;
+
+        for (int m = 0; m < months; m++) {
+            long monthInterest = divideHalfEven(Math.multiplyExact(outstanding, annualRateBp), MONTHLY_RATE_DENOMINATOR);
+            long monthPrincipal = m == months - 1
+                    ? outstanding
+                    : Math.min(Math.max(level - monthInterest, 0), outstanding);
+
+            outstanding -= monthPrincipal;
+            interest[m] = monthInterest;
+            principal[m] = monthPrincipal;
+            payment[m] = monthPrincipal + monthInterest;
+            balance[m] = outstanding;
+        }
+
+        return new AmortizationSchedule(AmortizationMethod.ANNUITY, principalMinor, payment, principal, interest, balance);
+    }
+
+    private AmortizationSchedule flat(long principalMinor, long annualRateBp, int months) {
+        long[] payment = new long[months];
+        long[] principal = new long[months];
+        long[] interest = new long[months];
+        long[] balance = new long[months];
+
+        long totalInterest = divideHalfEven(
+                Math.multiplyExact(Math.multiplyExact(principalMinor, annualRateBp), months), MONTHLY_RATE_DENOMINATOR);
+        long principalShare = principalMinor / months;
+        long interestShare = totalInterest / months;
+        long outstanding = principalMinor;
+
+        for (int m = 0; m < months; m++) {
+            boolean last = m == months - 1;
+            long monthPrincipal = last ? outstanding : principalShare;
+            long monthInterest = last ? totalInterest - interestShare * (months - 1) : interestShare;
+
+            outstanding -= monthPrincipal;
+            interest[m] = monthInterest;
+            principal[m] = monthPrincipal;
+            payment[m] = monthPrincipal + monthInterest;
+            balance[m] = outstanding;
+        }
+
+        return new AmortizationSchedule(AmortizationMethod.FLAT, principalMinor, payment, principal, interest, balance);
+    }
+
+    // P * r * f / (f - 1) with f = (1 + r)^n; f - 1 via expm1/log1p keeps precision for small rates
+    private static long annuityPayment(long principalMinor, long annualRateBp, int months) {
+        if (annualRateBp == 0) {
+            return (principalMinor + months - 1) / months;
+        }
+        double rate = (double) annualRateBp / MONTHLY_RATE_DENOMINATOR;
+        double growthLessOne = StrictMath.expm1(months * StrictMath.log1p(rate));
+        double level = principalMinor * rate * (growthLessOne + 1) / growthLessOne;
+        return (long) StrictMath.floor(level + 0.5);
+    }
+
+    // Round-half-even integer division for non-negative operands
+    private static long divideHalfEven(long numerator, long denominator) {
+        long quotient = numerator / denominator;
+        long remainder = numerator % denominator;
+        long twice = remainder * 2;
+        if (twice > denominator || (twice == denominator && (quotient & 1) == 1)) {
+            quotient++;
+        }
+        return quotient;
+    }
+
+    private static long toMinor(BigDecimal amount) {
+        return amount.setScale(AmortizationSchedule.MINOR_UNIT_SCALE, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+
+    private static long toBasisPoints(BigDecimal percent) {
+        return percent.setScale(2, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+}
@@ -0,0 +1,48 @@
+package com.fangbuilt.lc_loan_system.features.loan.schedule;
+
+import com.fangbuilt.lc_loan_system.features.loan.domain.AmortizationMethod;
+
+import java.math.BigDecimal;
+
+/**
+ * Month-by-month repayment plan in minor units (cents).
+ *
+ * Held as parallel {@code long} arrays, one slot per installment, so a 360-month schedule
+ * is five allocations rather than hundreds of objects. Convert at the API edge with
+ * {@link #toAmount(long)}.
+ */
+public record AmortizationSchedule(
+        AmortizationMethod method,
+        long principalMinor,
+        long[] payment,
+        long[] principal,
+        long[] interest,
+        long[] balance
+) {
+
+    public static final int MINOR_UNIT_SCALE = 2;
+
+    public int installments() {
+        return payment.length;
+    }
+
+    public long totalPayment() {
+        long total = 0;
+        for (long p : payment) {
+            total += p;
+        }
+        return total;
+    }
+
+    public long totalInterest() {
+        long total = 0;
+        for (long i : interest) {
+            total += i;
+        }
+        return total;
+    }
+
+    public static BigDecimal toAmount(long minor) {
+        return BigDecimal.valueOf(minor, MINOR_UNIT_SCALE);
+    }
+}
@@ -0,0 +1,190 @@
+package com.fangbuilt.lc_loan_system.features.loan.service;
+
+import com.fangbuilt.lc_loan_system.features.customer.domain.CustomerProfile;
+import com.fangbuilt.lc_loan_system.features.customer.service.CustomerService;
+import com.fangbuilt.lc_loan_system.features.loan.api.dto.BatchApplyLoanRequest;
+import com.fangbuilt.lc_loan_system.features.loan.api.dto.BatchApplyLoanResponse;
+import com.fangbuilt.lc_loan_system.features.loan.api.dto.BatchApplyLoanResponse.Outcome;
+import com.fangbuilt.lc_loan_system.features.loan.api.dto.BatchApplyLoanResponse.Result;
+import com.fangbuilt.lc_loan_system.features.loan.domain.LoanStatus;
+import com.fangbuilt.lc_loan_system.features.loan.repository.LoanRepository;
+import com.fangbuilt.lc_loan_system.features.loan.rule.EligibilityResult;
+import com.fangbuilt.lc_loan_system.features.loan.rule.EligibilityRuleEngine;
+import com.fangbuilt.lc_loan_system.features.loan.rule.LoanApplicationContext;
+import com.fangbuilt.lc_loan_system.features.loan.rule.RuleCost;
+import com.fangbuilt.lc_loan_system.shared.domain.UuidV7;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Bulk loan applications for partner channels.
+ *
+ * Customers and pending-loan flags for the whole batch are loaded with two set-based
+ * queries, the business rules run in parallel over the in-memory data, and accepted rows
+ * are inserted with JDBC statement batching. Each accepted loan then goes through the same
+ * asynchronous credit decisioning as a single application.
+ *
+ * Accepted rows first claim their customer's slot in {@code loan_pending_guard} in one
+ * statement; a customer who got a pending loan after the pre-check loses only its own row,
+ * which is reported as REJECTED while the rest of the batch goes through.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LoanBatchService {
+
+    private static final int INSERT_BATCH_SIZE = 500;
+    private static final String INSERT_LOAN =
+            "INSERT INTO loans (id, customer_id, amount, tenor_months, interest_rate, status, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String CLAIM_PENDING =
+            "INSERT INTO loan_pending_guard (customer_id, loan_id) " +
+            "SELECT * FROM unnest(?::uuid[], ?::uuid[]) ON CONFLICT DO NOTHING RETURNING customer_id";
+
+    private final EligibilityRuleEngine ruleEngine;
+    private final LoanRepository repository;
+    private final LoanService loanService;
+    private final CustomerService customerService;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PendingLoanGuard pendingLoanGuard;
+
+    @Transactional
+    public BatchApplyLoanResponse applyLoans(List<BatchApplyLoanRequest.Application> applications) {
+        log.info("Processing batch of {} loan applications", applications.size());
+
+        Set<UUID> customerIds = applications.stream()
+                .map(BatchApplyLoanRequest.Application::getCustomerId)
+                .collect(Collectors.toSet());
+        Map<UUID, CustomerProfile> customers = customerService.findAllByIds(customerIds);
+        Set<UUID> withPendingLoan = repository.findCustomerIdsWithStatus(customerIds, LoanStatus.PENDING);
+
+        // BUSINESS RULES 1-3 per row, in parallel over preloaded data (no rule touches the DB)
+        List<Result> results = IntStream.range(0, applications.size())
+                .parallel()
+                .mapToObj(i -> evaluate(i, applications.get(i), customers, withPendingLoan))
+                .collect(Collectors.toCollection(ArrayList::new));
+
+        // A batch may carry several rows for one customer; only the first becomes the pending loan
+        Set<UUID> claimed = new HashSet<>();
+        List<PendingInsert> inserts = new ArrayList<>();
+        for (int i = 0; i < results.size(); i++) {
+            Result result = results.get(i);
+            if (result.outcome() != Outcome.ACCEPTED) {
+                continue;
+            }
+            if (!claimed.add(result.customerId())) {
+                results.set(i, Result.rejected(i, result.customerId(),
+                        "Duplicate application for this customer in the same batch"));
+                continue;
+            }
+            inserts.add(new PendingInsert(i, result.loanId(), applications.get(i)));
+        }
+
+        // A customer may have got a pending loan since the pre-check; only that row is rejected
+        Set<UUID> won = claimPending(inserts);
+        inserts.removeIf(row -> {
+            if (won.contains(row.application().getCustomerId())) {
+                return false;
+            }
+            results.set(row.index(), Result.rejected(row.index(), row.application().getCustomerId(),
+                    PendingLoanGuard.PENDING_LOAN_MESSAGE));
+            return true;
+        });
+
+        insert(inserts);
+        if (!inserts.isEmpty()) {
+            loanService.invalidateCounts();
+        }
+        inserts.forEach(row -> eventPublisher.publishEvent(new LoanSubmittedEvent(row.loanId())));
+
+        BatchApplyLoanResponse response = BatchApplyLoanResponse.of(results);
+        log.info("Batch processed: {} accepted, {} rejected", response.getAccepted(), response.getRejected());
+        return response;
+    }
+
+    private Result evaluate(int index, BatchApplyLoanRequest.Application application,
+                            Map<UUID, CustomerProfile> customers, Set<UUID> withPendingLoan) {
+        UUID customerId = application.getCustomerId();
+        CustomerProfile customer = customers.get(customerId);
+        if (customer == null) {
+            return Result.rejected(index, customerId, "CustomerProfile not found with id: " + customerId);
+        }
+
+        LoanApplicationContext context = LoanApplicationContext.of(
+                        customer, application.getAmount(), application.getTenorMonths())
+                .toBuilder()
+                .pendingLoanExists(withPendingLoan.contains(customerId))
+                .build();
+
+        EligibilityResult eligibility = ruleEngine.evaluate(context, RuleCost.IN_MEMORY, RuleCost.DATABASE);
+        if (!eligibility.eligible()) {
+            return Result.rejected(index, customerId, eligibility.reason());
+        }
+
+        return Result.accepted(index, customerId, UuidV7.generate());
+    }
+
+    /**
+     * Claim the pending slot of every row's customer; returns the customers whose claim succeeded.
+     * ON CONFLICT DO NOTHING waits for a concurrent claim to commit or roll back, so it never fails.
+     */
+    private Set<UUID> claimPending(List<PendingInsert> rows) {
+        if (rows.isEmpty()) {
+            return Set.of();
+        }
+
+        Object[] customerIds = rows.stream().map(row -> row.application().getCustomerId()).toArray();
+        Object[] loanIds = rows.stream().map(PendingInsert::loanId).toArray();
+        List<UUID> claimed = jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(CLAIM_PENDING);
+            ps.setArray(1, con.createArrayOf("uuid", customerIds));
+            ps.setArray(2, con.createArrayOf("uuid", loanIds));
+            return ps;
+        }, (rs, rowNum) -> rs.getObject(1, UUID.class));
+        return new HashSet<>(claimed);
+    }
+
+    private void insert(List<PendingInsert> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try {
+            jdbcTemplate.batchUpdate(INSERT_LOAN, rows, INSERT_BATCH_SIZE, (ps, row) -> {
+                ps.setObject(1, row.loanId());
+                ps.setObject(2, row.application().getCustomerId());
+                ps.setBigDecimal(3, row.application().getAmount());
+                ps.setInt(4, row.application().getTenorMonths());
+                ps.setBigDecimal(5, BigDecimal.ZERO);
+                ps.setString(6, LoanStatus.PENDING.name());
+                ps.setTimestamp(7, now);
+                ps.setTimestamp(8, now);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Slots were claimed above, so this is not the pending-loan race
+            throw pendingLoanGuard.translate(e);
+        }
+    }
+
+    private record PendingInsert(int index, UUID loanId, BatchApplyLoanRequest.Application application) {}
+}
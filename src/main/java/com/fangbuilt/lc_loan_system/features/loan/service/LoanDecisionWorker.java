@@ -0,0 +1,256 @@
+package com.fangbuilt.lc_loan_system.features.loan.service;
+
+import com.fangbuilt.lc_loan_system.features.loan.config.LoanDecisionProperties;
+import com.fangbuilt.lc_loan_system.features.loan.domain.Loan;
+import com.fangbuilt.lc_loan_system.features.loan.repository.LoanRepository;
+import com.fangbuilt.lc_loan_system.features.loan.rule.CreditScoreRule;
+import com.fangbuilt.lc_loan_system.features.loan.rule.EligibilityResult;
+import com.fangbuilt.lc_loan_system.features.loan.rule.EligibilityRuleEngine;
+import com.fangbuilt.lc_loan_system.features.loan.rule.LoanApplicationContext;
+import com.fangbuilt.lc_loan_system.features.loan.rule.RuleCost;
+import com.fangbuilt.lc_loan_system.shared.exception.ServiceUnavailableException;
+import com.fangbuilt.lc_loan_system.shared.service.CreditScoreService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Credit decisioning stage for PENDING loans.
+ *
+ * Loans are queued after the application transaction commits. A dispatcher drains the
+ * bounded queue onto virtual threads, capped by a semaphore, so the bureau round trip
+ * never holds a request thread or a JDBC connection. Each decision is applied in its own
+ * short transaction; anything lost (full queue, crash, bureau error) is picked up again
+ * by the recovery sweep.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LoanDecisionWorker {
+
+    private final LoanRepository repository;
+    private final LoanService loanService;
+    private final CreditScoreService creditScoreService;
+    private final EligibilityRuleEngine ruleEngine;
+    private final PlatformTransactionManager transactionManager;
+    private final LoanDecisionProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final Set<UUID> inFlight = ConcurrentHashMap.newKeySet();
+    private BlockingQueue<UUID> queue;
+    private Semaphore permits;
+    private ExecutorService executor;
+    private Thread dispatcher;
+    private TransactionTemplate writeTransaction;
+    private Counter rejectedCounter;
+    private Counter recoveredCounter;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.permits = new Semaphore(properties.getMaxConcurrency());
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+
+        // Not read-only, even for the lookups: with replica routing a read-only transaction may
+        // land on a replica that has not yet replayed the loan committed a moment ago
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+
+        Gauge.builder("loan.decision.queue.depth", queue, BlockingQueue::size)
+                .description("Loans waiting for a credit decision")
+                .register(meterRegistry);
+        Gauge.builder("loan.decision.queue.capacity", queue, q -> properties.getQueueCapacity())
+                .register(meterRegistry);
+        Gauge.builder("loan.decision.concurrency.active", permits,
+                        p -> properties.getMaxConcurrency() - p.availablePermits())
+                .description("Credit decisions currently in progress")
+                .register(meterRegistry);
+        Gauge.builder("loan.decision.concurrency.limit", permits, p -> properties.getMaxConcurrency())
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("loan.decision.rejected")
+                .description("Loans not queued because the decision queue was full")
+                .register(meterRegistry);
+        this.recoveredCounter = Counter.builder("loan.decision.recovered")
+                .description("Stale PENDING loans re-queued by the recovery sweep")
+                .register(meterRegistry);
+
+        this.running = true;
+        this.dispatcher = Thread.ofPlatform()
+                .name("loan-decision-dispatcher")
+                .daemon(true)
+                .start(this::dispatch);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        dispatcher.interrupt();
+        executor.shutdown();
+        if (!executor.awaitTermination(properties.getShutdownTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+            log.warn("Loan decision worker stopped with decisions still running; they stay PENDING");
+            executor.shutdownNow();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onLoanSubmitted(LoanSubmittedEvent event) {
+        submit(event.loanId());
+    }
+
+    /**
+     * Queue a loan for decisioning. Returns false when the queue is full;
+     * the loan stays PENDING and the recovery sweep retries it later.
+     */
+    public boolean submit(UUID loanId) {
+        if (!inFlight.add(loanId)) {
+            return true;
+        }
+
+        if (!queue.offer(loanId)) {
+            inFlight.remove(loanId);
+            rejectedCounter.increment();
+            log.warn("Loan decision queue full, loan {} left for recovery sweep", loanId);
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Re-queue PENDING loans that were orphaned by a crash or dropped by a full queue
+     */
+    @Scheduled(fixedDelayString = "${loan.decision.recovery-interval:PT1M}")
+    public void recoverStalePendingLoans() {
+        int capacity = Math.min(properties.getRecoveryBatchSize(), queue.remainingCapacity());
+        if (capacity <= 0) {
+            return;
+        }
+
+        LocalDateTime before = LocalDateTime.now().minus(properties.getStaleAfter());
+        List<UUID> stale = writeTransaction.execute(status ->
+                repository.findStalePendingIds(before, PageRequest.of(0, capacity)));
+
+        int recovered = 0;
+        for (UUID loanId : stale) {
+            if (!inFlight.contains(loanId) && submit(loanId)) {
+                recovered++;
+            }
+        }
+
+        if (recovered > 0) {
+            recoveredCounter.increment(recovered);
+            log.info("Recovery sweep re-queued {} stale PENDING loans", recovered);
+        }
+    }
+
+    private void dispatch() {
+        while (running) {
+            try {
+                UUID loanId = queue.take();
+                permits.acquire();
+                try {
+                    executor.execute(() -> {
+                        try {
+                            decide(loanId);
+                        } finally {
+                            permits.release();
+                            inFlight.remove(loanId);
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    permits.release();
+                    inFlight.remove(loanId);
+                    throw e;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Loan decision dispatcher error: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void decide(UUID loanId) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failed";
+
+        try {
+            Optional<UUID> customerId = writeTransaction.execute(status ->
+                    repository.findPendingCustomerId(loanId));
+            if (customerId == null || customerId.isEmpty()) {
+                outcome = "skipped";
+                return;
+            }
+
+            // Bureau call happens outside any transaction
+            int creditScore = creditScoreService.getCreditScore(customerId.get().toString());
+            log.info("Credit score received for loan {}: {}", loanId, creditScore);
+
+            outcome = writeTransaction.execute(status -> repository.findPendingForUpdate(loanId)
+                    .map(loan -> applyDecision(loan, customerId.get(), creditScore))
+                    .orElse("skipped"));
+
+        } catch (ServiceUnavailableException e) {
+            outcome = "deferred";
+            log.warn("Credit bureau unavailable for loan {}, left PENDING for retry: {}", loanId, e.getMessage());
+        } catch (Exception e) {
+            log.error("Credit decision failed for loan {}, left PENDING for retry: {}", loanId, e.getMessage());
+        } finally {
+            sample.stop(meterRegistry.timer("loan.decision.duration", "outcome", outcome));
+        }
+    }
+
+    /**
+     * BUSINESS RULE 4: Credit Score Integration, the REMOTE stage of the rule chain
+     */
+    private String applyDecision(Loan loan, UUID customerId, int creditScore) {
+        LoanApplicationContext context = LoanApplicationContext.builder()
+                .customerId(customerId)
+                .amount(loan.getAmount())
+                .tenorMonths(loan.getTenorMonths())
+                .creditScore(creditScore)
+                .build();
+        EligibilityResult eligibility = ruleEngine.evaluate(context, RuleCost.REMOTE, RuleCost.REMOTE);
+
+        if (eligibility.eligible()) {
+            BigDecimal interestRate = CreditScoreRule.interestRateFor(creditScore);
+            loan.approve(interestRate, creditScore);
+            log.info("Loan {} APPROVED with {}% interest (credit score: {})",
+                loan.getId(), interestRate, creditScore);
+        } else {
+            loan.reject(eligibility.reason(), creditScore);
+            log.info("Loan {} REJECTED ({}, credit score: {})", loan.getId(), eligibility.reason(), creditScore);
+        }
+
+        repository.save(loan);
+        loanService.invalidateCounts();
+        return loan.getStatus().name().toLowerCase();
+    }
+}
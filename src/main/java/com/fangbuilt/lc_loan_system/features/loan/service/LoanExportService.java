@@ -0,0 +1,205 @@
+package com.fangbuilt.lc_loan_system.features.loan.service;
+
+import com.fangbuilt.lc_loan_system.features.loan.api.dto.LoanResponse;
+import com.fangbuilt.lc_loan_system.features.loan.domain.LoanStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Streams loans out of the database with constant memory.
+ *
+ * Rows come from a forward-only JDBC cursor (PostgreSQL only uses a server-side cursor when
+ * a fetch size is set inside a transaction) and are written to the output as soon as they
+ * are read, so heap use does not grow with the size of the table.
+ */
+@Slf4j
+@Service
+public class LoanExportService {
+
+    private static final int FETCH_SIZE = 1000;
+    private static final String CSV_HEADER = "id,customer_id,customer_name,customer_email,amount,tenor_months,"
+            + "interest_rate,status,credit_score,rejection_reason,created_at,updated_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readTransaction;
+    private final ObjectMapper objectMapper;
+
+    public LoanExportService(DataSource dataSource, PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Write every matching loan to {@code out}; filters are optional, {@code to} is exclusive
+     */
+    public long export(LoanStatus status, LocalDate from, LocalDate to, LoanExportFormat format, OutputStream out)
+            throws IOException {
+        StringBuilder sql = new StringBuilder(
+                "SELECT l.id, l.customer_id, c.name, c.email, l.amount, l.tenor_months, l.interest_rate, l.status, "
+                + "l.credit_score, l.rejection_reason, l.created_at, l.updated_at "
+                + "FROM loans l JOIN customer_profiles c ON c.id = l.customer_id "
+                + "WHERE l.deleted_at IS NULL");
+        List<Object> args = new ArrayList<>();
+        if (status != null) {
+            sql.append(" AND l.status = ?");
+            args.add(status.name());
+        }
+        if (from != null) {
+            sql.append(" AND l.created_at >= ?");
+            args.add(Timestamp.valueOf(from.atStartOfDay()));
+        }
+        if (to != null) {
+            sql.append(" AND l.created_at < ?");
+            args.add(Timestamp.valueOf(to.atStartOfDay()));
+        }
+        // UUIDv7 ids are time ordered, so this walks the primary key index instead of sorting
+        sql.append(" ORDER BY l.id");
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        RowWriter rowWriter = format == LoanExportFormat.CSV
+                ? new CsvRowWriter(writer)
+                : new NdjsonRowWriter(objectMapper.writer().withRootValueSeparator("\n").writeValues(writer));
+
+        long[] count = {0};
+        try {
+            readTransaction.executeWithoutResult(tx ->
+                    jdbcTemplate.query(sql.toString(), (RowCallbackHandler) rs -> {
+                        rowWriter.write(toResponse(rs));
+                        count[0]++;
+                    }, args.toArray()));
+        } catch (UncheckedIOException e) {
+            // Client went away mid-stream; the cursor and transaction are already closed
+            throw e.getCause();
+        }
+
+        rowWriter.finish();
+        writer.flush();
+        log.info("Exported {} loans as {} (status={}, from={}, to={})", count[0], format, status, from, to);
+        return count[0];
+    }
+
+    private static LoanResponse toResponse(ResultSet rs) throws SQLException {
+        return LoanResponse.builder()
+                .id(rs.getObject("id", UUID.class))
+                .customerId(rs.getObject("customer_id", UUID.class))
+                .customerName(rs.getString("name"))
+                .customerEmail(rs.getString("email"))
+                .amount(rs.getBigDecimal("amount"))
+                .tenorMonths(rs.getInt("tenor_months"))
+                .interestRate(rs.getBigDecimal("interest_rate"))
+                .status(LoanStatus.valueOf(rs.getString("status")))
+                .creditScore(rs.getObject("credit_score", Integer.class))
+                .rejectionReason(rs.getString("rejection_reason"))
+                .createdAt(rs.getObject("created_at", LocalDateTime.class))
+                .updatedAt(rs.getObject("updated_at", LocalDateTime.class))
+                .build();
+    }
+
+    private interface RowWriter {
+        void write(LoanResponse loan);
+
+        void finish() throws IOException;
+    }
+
+    private record NdjsonRowWriter(SequenceWriter sequence) implements RowWriter {
+
+        @Override
+        public void write(LoanResponse loan) {
+            try {
+                sequence.write(loan);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            sequence.flush();
+        }
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+        private boolean headerWritten;
+
+        private CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void write(LoanResponse loan) {
+            try {
+                writeHeader();
+                writer.write(String.join(",",
+                        field(loan.getId()),
+                        field(loan.getCustomerId()),
+                        field(loan.getCustomerName()),
+                        field(loan.getCustomerEmail()),
+                        field(loan.getAmount() != null ? loan.getAmount().toPlainString() : null),
+                        field(loan.getTenorMonths()),
+                        field(loan.getInterestRate() != null ? loan.getInterestRate().toPlainString() : null),
+                        field(loan.getStatus()),
+                        field(loan.getCreditScore()),
+                        field(loan.getRejectionReason()),
+                        field(loan.getCreatedAt()),
+                        field(loan.getUpdatedAt())));
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writeHeader();
+        }
+
+        private void writeHeader() throws IOException {
+            if (!headerWritten) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+                headerWritten = true;
+            }
+        }
+
+        // RFC 4180: quote fields containing a delimiter, quote or line break
+        private static String field(Object value) {
+            if (value == null) {
+                return "";
+            }
+            String text = value.toString();
+            if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+                return text;
+            }
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+    }
+}
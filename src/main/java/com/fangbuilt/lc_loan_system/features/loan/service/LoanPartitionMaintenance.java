@@ -0,0 +1,202 @@
+package com.fangbuilt.lc_loan_system.features.loan.service;
+
+import com.fangbuilt.lc_loan_system.features.loan.config.LoanPartitionProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Keeps the monthly partitions of {@code loans} in shape.
+ *
+ * Runs at startup and nightly. Rows that fell through to {@code loans_default}, because
+ * their month had no partition yet, are moved into a new partition for that month. Then the
+ * partitions for the current month and {@code loan.partitions.months-ahead} more are created,
+ * so inserts do not fall through again. With {@code loan.partitions.retention} set, months
+ * older than the retention period are detached and either moved to the archive schema or
+ * dropped. Detaching removes them from every query without a bulk DELETE.
+ *
+ * Every instance runs this on the same schedule, so a run first takes a session advisory
+ * lock on its own connection; an instance that cannot get it skips the run.
+ */
+@Slf4j
+@Component
+public class LoanPartitionMaintenance {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("uuuu_MM");
+    private static final String PARTITION_PREFIX = "loans_p";
+    private static final String LOCK_KEY = "loan-partition-maintenance";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final LoanPartitionProperties properties;
+    private final LoanService loanService;
+
+    public LoanPartitionMaintenance(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                    LoanPartitionProperties properties, LoanService loanService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.loanService = loanService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${loan.partitions.maintenance-cron:0 30 2 * * *}")
+    public void maintain() {
+        jdbcTemplate.execute((ConnectionCallback<Void>) lockHolder -> {
+            if (!callLockFunction(lockHolder, "pg_try_advisory_lock")) {
+                log.info("Loan partition maintenance is running elsewhere; skipping");
+                return null;
+            }
+            try {
+                maintainPartitions();
+            } finally {
+                callLockFunction(lockHolder, "pg_advisory_unlock");
+            }
+            return null;
+        });
+    }
+
+    // The lock lives as long as this connection; the work itself runs on other pooled connections
+    private static boolean callLockFunction(Connection connection, String function) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT " + function + "(hashtext(?))")) {
+            statement.setString(1, LOCK_KEY);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() && result.getBoolean(1);
+            }
+        }
+    }
+
+    private void maintainPartitions() {
+        if (!isPartitioned()) {
+            log.warn("Table loans is not partitioned; skipping partition maintenance");
+            return;
+        }
+        rehomeDefaultRows();
+        createUpcomingPartitions();
+        if (properties.getRetention() != null) {
+            applyRetention(YearMonth.from(LocalDate.now().minus(properties.getRetention())));
+        }
+
+        Long stranded = jdbcTemplate.queryForObject("SELECT count(*) FROM loans_default", Long.class);
+        if (stranded != null && stranded > 0) {
+            log.error("{} loans are still in loans_default after maintenance; see earlier errors", stranded);
+        }
+    }
+
+    /**
+     * Move every month found in loans_default into its own partition, one month per transaction
+     */
+    private void rehomeDefaultRows() {
+        List<LocalDate> months = jdbcTemplate.queryForList(
+                "SELECT DISTINCT date_trunc('month', created_at)::date FROM loans_default ORDER BY 1",
+                LocalDate.class);
+        for (LocalDate first : months) {
+            YearMonth month = YearMonth.from(first);
+            try {
+                Integer moved = transaction.execute(status -> rehome(month));
+                log.warn("Moved {} loans from loans_default into new partition {}", moved, partitionName(month));
+            } catch (DataAccessException e) {
+                log.error("Could not move {} rows out of loans_default: {}", month, e.getMessage());
+            }
+        }
+    }
+
+    // A partition cannot be created for a range the default partition holds rows of, so the
+    // rows are moved into a standalone table first, which is then attached. Deleting from
+    // loans_default fires the pending-guard trigger, so live PENDING rows are re-registered.
+    private int rehome(YearMonth month) {
+        String partition = partitionName(month);
+        String from = "'" + month.atDay(1) + "'";
+        String to = "'" + month.plusMonths(1).atDay(1) + "'";
+
+        jdbcTemplate.execute("CREATE TABLE " + partition + " (LIKE loans INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        int moved = jdbcTemplate.update("WITH moved AS (DELETE FROM loans_default "
+                + "WHERE created_at >= " + from + " AND created_at < " + to + " RETURNING *) "
+                + "INSERT INTO " + partition + " SELECT * FROM moved");
+        jdbcTemplate.execute("ALTER TABLE loans ATTACH PARTITION " + partition
+                + " FOR VALUES FROM (" + from + ") TO (" + to + ")");
+        jdbcTemplate.update("INSERT INTO loan_pending_guard (customer_id, loan_id) "
+                + "SELECT customer_id, id FROM " + partition + " WHERE status = 'PENDING' AND deleted_at IS NULL "
+                + "ON CONFLICT DO NOTHING");
+        return moved;
+    }
+
+    private void createUpcomingPartitions() {
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= properties.getMonthsAhead(); i++) {
+            YearMonth month = current.plusMonths(i);
+            try {
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(month)
+                        + " PARTITION OF loans FOR VALUES FROM ('" + month.atDay(1)
+                        + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+            } catch (DataAccessException e) {
+                // Only if rows for this month reached loans_default after rehomeDefaultRows ran
+                log.error("Could not create loan partition {}: {}", partitionName(month), e.getMessage());
+            }
+        }
+    }
+
+    // Partitions whose whole month ends on or before the start of the cutoff month
+    private void applyRetention(YearMonth cutoff) {
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                        + "WHERE i.inhparent = 'loans'::regclass AND c.relname ~ '^loans_p[0-9]{4}_[0-9]{2}$' "
+                        + "ORDER BY c.relname",
+                String.class);
+
+        for (String partition : partitions) {
+            YearMonth month = YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+            if (!month.isBefore(cutoff)) {
+                continue;
+            }
+            try {
+                // A PENDING loan that old is abandoned; free its customer before the rows disappear
+                jdbcTemplate.update("DELETE FROM loan_pending_guard g USING " + partition + " p WHERE g.loan_id = p.id");
+                jdbcTemplate.execute("ALTER TABLE loans DETACH PARTITION " + partition);
+                if (properties.getRetentionAction() == LoanPartitionProperties.RetentionAction.DROP) {
+                    jdbcTemplate.execute("DROP TABLE " + partition);
+                    log.info("Dropped loan partition {}", partition);
+                } else {
+                    jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + properties.getArchiveSchema());
+                    jdbcTemplate.execute("ALTER TABLE " + partition + " SET SCHEMA " + properties.getArchiveSchema());
+                    log.info("Archived loan partition {} to schema {}", partition, properties.getArchiveSchema());
+                }
+                loanService.invalidateCounts();
+            } catch (DataAccessException e) {
+                log.error("Retention failed for loan partition {}: {}", partition, e.getMessage());
+            }
+        }
+    }
+
+    private boolean isPartitioned() {
+        Boolean partitioned = jdbcTemplate.queryForObject(
+                "SELECT COALESCE((SELECT relkind = 'p' FROM pg_class WHERE oid = to_regclass('loans')), false)",
+                Boolean.class);
+        return Boolean.TRUE.equals(partitioned);
+    }
+
+    private static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+}
@@ -1,18 +1,28 @@
 package com.fangbuilt.lc_loan_system.features.loan.service;
 
-import com.fangbuilt.lc_loan_system.features.customer.domain.CustomerProfile;
 import com.fangbuilt.lc_loan_system.features.customer.service.CustomerService;
+import com.fangbuilt.lc_loan_system.features.loan.api.dto.LoanResponse;
+import com.fangbuilt.lc_loan_system.features.loan.domain.AmortizationMethod;
 import com.fangbuilt.lc_loan_system.features.loan.domain.Loan;
+import com.fangbuilt.lc_loan_system.features.loan.domain.LoanApplicant;
 import com.fangbuilt.lc_loan_system.features.loan.domain.LoanStatus;
 import com.fangbuilt.lc_loan_system.features.loan.repository.LoanRepository;
+import com.fangbuilt.lc_loan_system.features.loan.rule.EligibilityRuleEngine;
+import com.fangbuilt.lc_loan_system.features.loan.rule.LoanApplicationContext;
+import com.fangbuilt.lc_loan_system.features.loan.rule.RuleCost;
+import com.fangbuilt.lc_loan_system.features.loan.schedule.AmortizationEngine;
+import com.fangbuilt.lc_loan_system.features.loan.schedule.AmortizationSchedule;
 import com.fangbuilt.lc_loan_system.features.user.domain.User;
 import com.fangbuilt.lc_loan_system.shared.exception.BadRequestException;
 import com.fangbuilt.lc_loan_system.shared.exception.BusinessRuleViolationException;
+import com.fangbuilt.lc_loan_system.shared.exception.ResourceNotFoundException;
+import com.fangbuilt.lc_loan_system.shared.filter.FilterOperator;
+import com.fangbuilt.lc_loan_system.shared.filter.FilterSchema;
 import com.fangbuilt.lc_loan_system.shared.service.BaseCrudService;
-import com.fangbuilt.lc_loan_system.shared.service.CreditScoreService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -20,6 +30,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Slf4j
@@ -29,7 +40,10 @@ public class LoanService extends BaseCrudService<Loan, LoanRepository> {
     
     private final LoanRepository repository;
     private final CustomerService customerService;
-    private final CreditScoreService creditScoreService;
+    private final EligibilityRuleEngine ruleEngine;
+    private final PendingLoanGuard pendingLoanGuard;
+    private final AmortizationEngine amortizationEngine;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Override
     protected LoanRepository getRepository() {
@@ -41,6 +55,15 @@ public class LoanService extends BaseCrudService<Loan, LoanRepository> {
         return "Loan";
     }
     
+    @Override
+    protected void defineFilters(FilterSchema.Builder<Loan> filters) {
+        filters
+            .field("status", true, FilterOperator.EQ, FilterOperator.IN)
+            .field("createdAt", true, FilterOperator.GTE, FilterOperator.LTE)
+            .field("amount", false, FilterOperator.EQ, FilterOperator.GTE, FilterOperator.LTE)
+            .field("tenorMonths", false, FilterOperator.EQ, FilterOperator.IN);
+    }
+    
     @Override
     protected void updateFields(Loan existing, Loan updated) {
         // Loan tidak bisa diupdate setelah dibuat (hanya status yang berubah via approval)
@@ -48,165 +71,114 @@ public class LoanService extends BaseCrudService<Loan, LoanRepository> {
     }
     
     /**
-     * Apply for a new loan with all business rule validations
+     * Apply for a new loan with all business rule validations.
+     * The applicant and every pre-check input are read in a single query keyed by user id.
+     * The loan is persisted as PENDING; the credit decision is made by {@link LoanDecisionWorker}.
      */
     @Transactional
-    public Loan applyLoan(UUID customerId, BigDecimal amount, Integer tenorMonths) {
-        log.info("Processing loan application for customer: {}, amount: {}, tenor: {}", 
-            customerId, amount, tenorMonths);
-        
-        CustomerProfile customer = customerService.findById(customerId);
+    public LoanResponse applyLoan(UUID userId, BigDecimal amount, Integer tenorMonths) {
+        LoanApplicant applicant = repository.findApplicantByUserId(userId)
+            .orElseThrow(() -> new BadRequestException("Customer profile not found for user"));
         
-        // BUSINESS RULE 1: Document validation
-        validateDocuments(customer);
+        log.info("Processing loan application for customer: {}, amount: {}, tenor: {}", 
+            applicant.customerId(), amount, tenorMonths);
         
-        // BUSINESS RULE 2: No multiple pending loans
-        validateNoPendingLoans(customerId);
+        // Fail fast on a concurrent submit for the same customer on this node
+        pendingLoanGuard.claim(applicant.customerId());
         
-        // BUSINESS RULE 3: Debt to Income Ratio
-        validateDebtToIncomeRatio(customer, amount);
+        // BUSINESS RULES 1-3: documents, debt to income, no pending loan (cheapest first, all preloaded)
+        ruleEngine.evaluate(
+            LoanApplicationContext.of(applicant, amount, tenorMonths),
+            RuleCost.IN_MEMORY,
+            RuleCost.DATABASE
+        ).orElseThrow();
         
-        // Create loan entity
+        // Create loan entity (its UUIDv7 id is assigned on persist)
         Loan loan = new Loan();
-        loan.setCustomer(customer);
+        loan.setCustomer(customerService.getReference(applicant.customerId()));
         loan.setAmount(amount);
         loan.setTenorMonths(tenorMonths);
         loan.setStatus(LoanStatus.PENDING);
         loan.setInterestRate(BigDecimal.ZERO); // Will be set after credit score check
         
-        // Save first to get ID
-        loan = repository.save(loan);
+        // Flush now so the pending-loan unique index catches a race lost to another node
+        try {
+            repository.saveAndFlush(loan);
+            invalidateCounts();
+        } catch (DataIntegrityViolationException e) {
+            throw pendingLoanGuard.translate(e);
+        }
         
-        // BUSINESS RULE 4: Credit Score Integration
-        processLoanApproval(loan);
+        // BUSINESS RULE 4: Credit Score Integration (REMOTE rule, decided asynchronously after commit)
+        eventPublisher.publishEvent(new LoanSubmittedEvent(loan.getId()));
         
-        return repository.save(loan);
+        return LoanResponse.from(loan, applicant);
     }
     
     /**
-     * BUSINESS RULE 1: Customer must upload KTP and Salary Slip
+     * Get all loans for current logged-in customer, projected straight into the response shape
      */
-    private void validateDocuments(CustomerProfile customer) {
-        if (!customer.hasUploadedKtp()) {
-            throw new BusinessRuleViolationException(
-                "KTP document must be uploaded before applying for a loan"
-            );
-        }
-        
-        if (!customer.hasUploadedSalarySlip()) {
-            throw new BusinessRuleViolationException(
-                "Salary slip document must be uploaded before applying for a loan"
-            );
-        }
-        
-        log.debug("Document validation passed for customer: {}", customer.getId());
+    @Transactional(readOnly = true)
+    public List<LoanResponse> getMyLoans() {
+        return repository.findResponsesByUserId(getCurrentUser().getId());
     }
     
     /**
-     * BUSINESS RULE 2: Customer cannot have multiple pending loans
+     * Get all loans (Admin only), projected straight into the response shape
      */
-    private void validateNoPendingLoans(UUID customerId) {
-        boolean hasPendingLoan = repository.existsByCustomerIdAndStatus(customerId, LoanStatus.PENDING);
-        
-        if (hasPendingLoan) {
-            throw new BusinessRuleViolationException(
-                "You already have a pending loan application. Please wait for approval or rejection."
-            );
-        }
-        
-        log.debug("No pending loan check passed for customer: {}", customerId);
+    @Transactional(readOnly = true)
+    public List<LoanResponse> getAllLoans() {
+        return repository.findAllResponses();
     }
     
     /**
-     * BUSINESS RULE 3: Debt to Income Ratio
-     * maxLoanAllowed = monthlyIncome × 12
+     * Get loan by ID with authorization check (customer fetched in the same query)
      */
-    private void validateDebtToIncomeRatio(CustomerProfile customer, BigDecimal amount) {
-        BigDecimal maxLoanAllowed = customer.getMonthlyIncome().multiply(BigDecimal.valueOf(12));
+    @Override
+    @Transactional(readOnly = true)
+    public Loan findById(UUID id) {
+        Loan loan = super.findById(id);
         
-        if (amount.compareTo(maxLoanAllowed) > 0) {
-            String message = String.format(
-                "Loan amount (%s) exceeds maximum allowed (%s) based on monthly income (%s)",
-                amount, maxLoanAllowed, customer.getMonthlyIncome()
-            );
-            throw new BusinessRuleViolationException(message);
-        }
+        User currentUser = getCurrentUser();
         
-        log.debug("Debt to income ratio check passed. Amount: {}, Max allowed: {}", 
-            amount, maxLoanAllowed);
-    }
-    
-    /**
-     * BUSINESS RULE 4: Credit Score Integration
-     * 
-     * Score >= 700: APPROVED (10% interest)
-     * Score 600-699: APPROVED (15% interest)
-     * Score < 600: REJECTED
-     */
-    private void processLoanApproval(Loan loan) {
-        try {
-            int creditScore = creditScoreService.getCreditScore(loan.getCustomer().getId().toString());
-            
-            log.info("Credit score received for loan {}: {}", loan.getId(), creditScore);
-            
-            if (creditScore >= 700) {
-                loan.approve(BigDecimal.valueOf(10.0), creditScore);
-                log.info("Loan {} APPROVED with 10% interest (excellent credit score: {})", 
-                    loan.getId(), creditScore);
-                
-            } else if (creditScore >= 600) {
-                loan.approve(BigDecimal.valueOf(15.0), creditScore);
-                log.info("Loan {} APPROVED with 15% interest (good credit score: {})", 
-                    loan.getId(), creditScore);
-                
-            } else {
-                loan.reject("Credit score too low", creditScore);
-                log.info("Loan {} REJECTED (low credit score: {})", loan.getId(), creditScore);
-            }
-            
-        } catch (Exception e) {
-            log.error("Credit score service failed for loan {}: {}", loan.getId(), e.getMessage());
-            throw new BadRequestException(
-                "Failed to process loan application due to credit score service error. Please try again later."
-            );
+        // If not admin, can only view own loans (the user id is on the customer row, no extra query)
+        if (!currentUser.getRole().name().equals("ADMIN")
+            && !loan.getCustomer().getUser().getId().equals(currentUser.getId())) {
+            throw new BusinessRuleViolationException("You can only view your own loans");
         }
+        
+        return loan;
     }
     
     /**
-     * Get all loans for current logged-in customer
+     * Loan detail as a response projection, same visibility rules as {@link #findById}
      */
-    public List<Loan> getMyLoans() {
+    @Transactional(readOnly = true)
+    public LoanResponse getLoanResponse(UUID id) {
         User currentUser = getCurrentUser();
-        CustomerProfile customer = customerService.findByUserId(currentUser.getId());
-        return repository.findByCustomerId(customer.getId());
+        boolean admin = currentUser.getRole().name().equals("ADMIN");
+        
+        Optional<LoanResponse> response = admin
+            ? repository.findResponseById(id)
+            : repository.findResponseByIdAndUserId(id, currentUser.getId());
+        return response
+            .orElseThrow(() -> {
+                // Distinguish someone else's loan from a missing one (only on the failure path)
+                if (!admin && repository.findByIdActive(id).isPresent()) {
+                    return new BusinessRuleViolationException("You can only view your own loans");
+                }
+                return new ResourceNotFoundException(getEntityName() + " not found with id: " + id);
+            });
     }
     
     /**
-     * Get all loans (Admin only)
+     * Repayment schedule of an approved loan (same visibility as {@link #findById})
      */
-    @Cacheable(value = "loan")
-    public List<Loan> getAllLoans() {
-        return repository.findAll();
-    }
-    
-    /**
-     * Get loan by ID with authorization check
-     */
-    @Override
-    public Loan findById(UUID id) {
-        Loan loan = super.findById(id);
-        
-        User currentUser = getCurrentUser();
-        
-        // If not admin, can only view own loans
-        if (!currentUser.getRole().name().equals("ADMIN")) {
-            CustomerProfile customer = customerService.findByUserId(currentUser.getId());
-            if (!loan.getCustomer().getId().equals(customer.getId())) {
-                throw new BusinessRuleViolationException("You can only view your own loans");
-            }
+    public AmortizationSchedule getSchedule(Loan loan, AmortizationMethod method) {
+        if (!loan.isApproved()) {
+            throw new BusinessRuleViolationException("Repayment schedule is only available for approved loans");
         }
-        
-        return loan;
+        return amortizationEngine.generate(loan, method);
     }
     
     private User getCurrentUser() {
@@ -0,0 +1,8 @@
+package com.fangbuilt.lc_loan_system.features.loan.service;
+
+import java.util.UUID;
+
+/**
+ * Published when a PENDING loan has been persisted and is ready for credit decisioning
+ */
+public record LoanSubmittedEvent(UUID loanId) {}
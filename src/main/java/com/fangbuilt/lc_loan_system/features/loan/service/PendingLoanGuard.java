@@ -0,0 +1,77 @@
+package com.fangbuilt.lc_loan_system.features.loan.service;
+
+import com.fangbuilt.lc_loan_system.shared.exception.BusinessRuleViolationException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * "One pending loan per customer", enforced twice.
+ *
+ * The database holds the real guarantee: a trigger mirrors every live PENDING loan into
+ * {@code loan_pending_guard}, whose primary key {@value #PENDING_CONSTRAINT} allows one row
+ * per customer (see {@code db/migration}). In front of it, a per-node in-flight set
+ * rejects a second submit for the same customer while the first one's transaction is still
+ * open, without touching the database or blocking other customers.
+ */
+@Component
+public class PendingLoanGuard {
+
+    public static final String PENDING_CONSTRAINT = "uk_loans_customer_pending";
+    public static final String PENDING_LOAN_MESSAGE =
+            "You already have a pending loan application. Please wait for approval or rejection.";
+
+    private final Set<UUID> inFlight = ConcurrentHashMap.newKeySet();
+    private final Counter rejectedLocal;
+    private final Counter rejectedDatabase;
+
+    public PendingLoanGuard(MeterRegistry meterRegistry) {
+        this.rejectedLocal = Counter.builder("loan.apply.duplicate")
+                .tag("source", "local")
+                .register(meterRegistry);
+        this.rejectedDatabase = Counter.builder("loan.apply.duplicate")
+                .tag("source", "database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Claim the customer for the current transaction; released when it completes.
+     * Must be called inside a transaction.
+     */
+    public void claim(UUID customerId) {
+        if (!inFlight.add(customerId)) {
+            rejectedLocal.increment();
+            throw new BusinessRuleViolationException(PENDING_LOAN_MESSAGE);
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                inFlight.remove(customerId);
+            }
+        });
+    }
+
+    /**
+     * Translate a violation of the pending-loan index into the business error; anything else is rethrown
+     */
+    public RuntimeException translate(DataIntegrityViolationException e) {
+        if (isPendingViolation(e)) {
+            rejectedDatabase.increment();
+            return new BusinessRuleViolationException(PENDING_LOAN_MESSAGE);
+        }
+        return e;
+    }
+
+    private static boolean isPendingViolation(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.contains(PENDING_CONSTRAINT);
+    }
+}
@@ -1,12 +1,17 @@
 package com.fangbuilt.lc_loan_system.features.user.domain;
 
 import com.fangbuilt.lc_loan_system.security.domain.Role;
+import com.fangbuilt.lc_loan_system.security.jwt.PrincipalInvalidationListener;
 import com.fangbuilt.lc_loan_system.shared.domain.BaseEntity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -16,12 +21,17 @@ import java.util.List;
 
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users_by_username")
+@EntityListeners(PrincipalInvalidationListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class User extends BaseEntity implements UserDetails {
     
+    @NaturalId
     @Column(nullable = false, unique = true)
     private String username;
     
@@ -60,8 +70,9 @@ public class User extends BaseEntity implements UserDetails {
         return true;
     }
     
+    // A soft-deleted user can no longer sign in or use an issued token
     @Override
     public boolean isEnabled() {
-        return enabled;
+        return enabled && !isDeleted();
     }
 }
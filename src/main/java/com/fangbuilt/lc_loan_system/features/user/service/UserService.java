@@ -3,8 +3,13 @@ package com.fangbuilt.lc_loan_system.features.user.service;
 import com.fangbuilt.lc_loan_system.features.user.domain.User;
 import com.fangbuilt.lc_loan_system.features.user.repository.UserRepository;
 import com.fangbuilt.lc_loan_system.security.domain.Role;
+import com.fangbuilt.lc_loan_system.security.jwt.PrincipalCache;
 import com.fangbuilt.lc_loan_system.shared.exception.BadRequestException;
+import com.fangbuilt.lc_loan_system.shared.exception.ResourceNotFoundException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -12,16 +17,31 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.UUID;
+
 @Service
 @RequiredArgsConstructor
 public class UserService implements UserDetailsService {
 
     private final UserRepository repository;
     private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
+    /**
+     * Loaded by natural id, so a warm lookup is served from the users_by_username and users
+     * cache regions without a query. A cold lookup reads the primary (the transaction is not
+     * read-only), so a user registered, disabled or deleted a moment ago is seen as such.
+     */
     @Override
+    @Transactional
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return repository.findByUsername(username)
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
     }
 
@@ -37,4 +57,16 @@ public class UserService implements UserDetailsService {
         user.setRole(role);
         return repository.save(user);
     }
-}
\ No newline at end of file
+
+    /**
+     * Soft delete. The JPQL update skips {@code PrincipalInvalidationListener}, so the cached
+     * principal is evicted here, on every node, once the transaction commits.
+     */
+    @Transactional
+    public void deleteUser(UUID id) {
+        User user = repository.findByIdActive(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+        repository.softDelete(id, LocalDateTime.now());
+        principalCache.invalidateAfterCommit(user.getUsername());
+    }
+}
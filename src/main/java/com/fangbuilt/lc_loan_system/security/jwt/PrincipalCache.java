@@ -0,0 +1,98 @@
+package com.fangbuilt.lc_loan_system.security.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+/**
+ * Authenticated principals by JWT subject, so a bearer request needs no database round trip.
+ *
+ * Entries expire after {@code jwt.principal-cache-ttl}. When a user changes (disabled, role,
+ * password, deleted) the entry is dropped here and the username is published on
+ * {@value #CHANNEL}; every node drops its own copy on receipt. If Redis is down, other nodes
+ * fall back to the TTL.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PrincipalCache implements MessageListener {
+
+    static final String CHANNEL = "auth:principal-invalidation";
+
+    private final JwtProperties properties;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final MeterRegistry meterRegistry;
+
+    private Cache<String, UserDetails> principals;
+
+    @PostConstruct
+    public void init() {
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(properties.getPrincipalCacheMaxSize())
+                .expireAfterWrite(properties.getPrincipalCacheTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "auth.principal");
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * Cached principal for the subject, loading through {@code loader} on a miss.
+     * Loader exceptions propagate and nothing is cached.
+     */
+    public UserDetails get(String username, Function<String, UserDetails> loader) {
+        return principals.get(username, loader);
+    }
+
+    /**
+     * Drop the subject on this node and tell the others
+     */
+    public void invalidate(String username) {
+        principals.invalidate(username);
+        try {
+            redisTemplate.convertAndSend(CHANNEL, username);
+        } catch (DataAccessException e) {
+            log.warn("Could not broadcast principal invalidation for {}: {}", username, e.getMessage());
+        }
+    }
+
+    /**
+     * As {@link #invalidate}, once the current transaction commits, so a concurrent request
+     * cannot re-cache the old row before then. Without a transaction it happens now.
+     */
+    public void invalidateAfterCommit(String username) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(username);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(username);
+            }
+        });
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        principals.invalidate(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,25 @@
+package com.fangbuilt.lc_loan_system.security.jwt;
+
+import com.fangbuilt.lc_loan_system.features.user.domain.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA listener on {@link User}: any update or removal evicts the cached principal once the
+ * transaction commits. JPQL bulk updates skip entity callbacks, so code that changes users
+ * that way (see {@code UserService#deleteUser}) calls {@link PrincipalCache#invalidateAfterCommit} itself.
+ */
+@Component
+@RequiredArgsConstructor
+public class PrincipalInvalidationListener {
+
+    private final PrincipalCache principalCache;
+
+    @PostUpdate
+    @PostRemove
+    void onChange(User user) {
+        principalCache.invalidateAfterCommit(user.getUsername());
+    }
+}
@@ -0,0 +1,56 @@
+package com.fangbuilt.lc_loan_system.shared.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "credit-score")
+public class CreditScoreProperties {
+
+    // Upstream accepts &count=N and returns N scores per response
+    private String url = "https://www.randomnumberapi.com/api/v1.0/random?min=300&max=850";
+    private Batch batch = new Batch();
+    private Cache cache = new Cache();
+    private Resilience resilience = new Resilience();
+
+    @Data
+    public static class Batch {
+        private int maxSize = 50;
+        private Duration maxWait = Duration.ofMillis(20);
+    }
+
+    @Data
+    public static class Cache {
+        private boolean enabled = true;
+        private Duration ttl = Duration.ofMinutes(30);
+        private long localMaxSize = 10_000;
+        private double refreshAhead = 0.8;  // refresh in background once an entry is this far into its TTL
+    }
+
+    @Data
+    public static class Resilience {
+        private Duration timeout = Duration.ofSeconds(3);
+
+        // Circuit breaker
+        private int slidingWindowSize = 20;
+        private int minimumCalls = 10;
+        private double failureRateThreshold = 0.5;
+        private Duration openDuration = Duration.ofSeconds(30);
+        private int halfOpenCalls = 3;
+
+        // Bulkhead
+        private int maxConcurrentCalls = 10;
+        private Duration bulkheadMaxWait = Duration.ofMillis(100);
+
+        // Hedging: fire a second call once the first outlives this latency percentile
+        private boolean hedgingEnabled = true;
+        private double hedgePercentile = 0.95;
+        private Duration minHedgeDelay = Duration.ofMillis(50);
+        private int latencySamples = 200;
+        private int minLatencySamples = 20;
+    }
+}
@@ -0,0 +1,65 @@
+package com.fangbuilt.lc_loan_system.shared.config;
+
+import com.fangbuilt.lc_loan_system.shared.datasource.ReadYourWritesTracker;
+import com.fangbuilt.lc_loan_system.shared.datasource.ReplicaDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Sends read-only transactions to replicas when {@code datasource.routing.enabled=true}.
+ *
+ * The application DataSource is a {@link LazyConnectionDataSourceProxy}: it fetches the real
+ * connection on the first statement, after the transaction has marked it read-only, and
+ * takes read-only connections from {@link ReplicaDataSource}. Everything else uses the
+ * primary from {@code spring.datasource.*}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "datasource.routing", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class DataSourceRoutingConfig implements WebMvcConfigurer {
+
+    private final ReplicaRoutingProperties properties;
+    private final StringRedisTemplate redisTemplate;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker() {
+        return new ReadYourWritesTracker(properties.getReadYourWritesWindow(), redisTemplate);
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaDataSource replicaDataSource(HikariDataSource primaryDataSource, MeterRegistry meterRegistry) {
+        return new ReplicaDataSource(primaryDataSource, properties, readYourWritesTracker(), meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return dataSource;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(readYourWritesTracker());
+    }
+}
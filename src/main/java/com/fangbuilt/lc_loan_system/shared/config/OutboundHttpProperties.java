@@ -0,0 +1,25 @@
+package com.fangbuilt.lc_loan_system.shared.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "http.client")
+public class OutboundHttpProperties {
+
+    private int maxTotal = 200;
+    private int maxPerRoute = 50;
+    private Map<String, Integer> routes = new HashMap<>();  // "https://host[:port]" -> max connections
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration responseTimeout = Duration.ofSeconds(5);
+    private Duration connectionTtl = Duration.ofMinutes(5);
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+    private Duration idleEviction = Duration.ofSeconds(30);
+    private boolean http2 = true;  // negotiate h2 over TLS via ALPN
+}
@@ -0,0 +1,37 @@
+package com.fangbuilt.lc_loan_system.shared.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "datasource.routing")
+public class ReplicaRoutingProperties {
+
+    private boolean enabled = false;
+    private List<Replica> replicas = new ArrayList<>();
+    private Selection selection = Selection.ROUND_ROBIN;
+    private Duration maxLag = Duration.ofSeconds(5);            // replicas further behind are skipped
+    private Duration lagCheckInterval = Duration.ofSeconds(5);
+    private Duration readYourWritesWindow = Duration.ofSeconds(10);  // reads stay on the primary after a user's write
+
+    public enum Selection {
+        ROUND_ROBIN,
+        LEAST_LOADED  // fewest active pool connections
+    }
+
+    @Data
+    public static class Replica {
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+        private int maxPoolSize = 10;
+        private Duration connectionTimeout = Duration.ofSeconds(1);  // a dead replica fails fast and leaves rotation
+    }
+}
@@ -0,0 +1,120 @@
+package com.fangbuilt.lc_loan_system.shared.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+
+/**
+ * Remembers which users wrote recently so their reads stay on the primary.
+ *
+ * A mutating request (anything but GET, HEAD, OPTIONS) marks its user when it starts and
+ * again when it completes, so the window always covers the commit plus
+ * {@code datasource.routing.read-your-writes-window}. The marker lives in Redis with the
+ * window as its TTL, so the next request may land on any node; a local copy answers
+ * repeat reads on the writing node, and a request asks Redis at most once. If Redis is
+ * unreachable the read goes to the primary.
+ */
+@Slf4j
+public class ReadYourWritesTracker implements HandlerInterceptor {
+
+    private static final String KEY_PREFIX = "ryw:";
+    private static final String REQUEST_ATTRIBUTE = ReadYourWritesTracker.class.getName() + ".wroteRecently";
+
+    private final Duration window;
+    private final StringRedisTemplate redisTemplate;
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration window, StringRedisTemplate redisTemplate) {
+        this.window = window;
+        this.redisTemplate = redisTemplate;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        markIfWrite(request);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        markIfWrite(request);
+    }
+
+    /**
+     * Whether the current user wrote within the window, on this node or any other
+     */
+    public boolean currentUserWroteRecently() {
+        String user = currentUser();
+        if (user == null) {
+            return false;
+        }
+        if (recentWriters.getIfPresent(user) != null) {
+            return true;
+        }
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        Object known = attributes != null
+                ? attributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                : null;
+        if (known instanceof Boolean wrote) {
+            return wrote;
+        }
+
+        boolean wrote = wroteElsewhere(user);
+        if (attributes != null) {
+            attributes.setAttribute(REQUEST_ATTRIBUTE, wrote, RequestAttributes.SCOPE_REQUEST);
+        }
+        return wrote;
+    }
+
+    private boolean wroteElsewhere(String user) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + user));
+        } catch (DataAccessException e) {
+            log.warn("Redis unavailable for read-your-writes check, reading from primary: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    private void markIfWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        if ("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method)) {
+            return;
+        }
+        String user = currentUser();
+        if (user == null) {
+            return;
+        }
+        recentWriters.put(user, Boolean.TRUE);
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + user, "1", window);
+        } catch (DataAccessException e) {
+            log.warn("Failed to record write by {} in Redis: {}", user, e.getMessage());
+        }
+    }
+
+    private static String currentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return auth.getName();
+    }
+}
@@ -0,0 +1,205 @@
+package com.fangbuilt.lc_loan_system.shared.datasource;
+
+import com.fangbuilt.lc_loan_system.shared.config.ReplicaRoutingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Where read-only transactions get their connections.
+ *
+ * Picks a replica round-robin or by fewest active connections, skipping replicas that are
+ * unreachable or further behind than {@code max-lag}. It falls back to the primary when no
+ * replica qualifies, or when the current user wrote within the read-your-writes window.
+ * Lag is polled in the background, never on the request path.
+ */
+@Slf4j
+public class ReplicaDataSource extends AbstractDataSource implements Closeable {
+
+    // Zero when the replica has replayed everything it received (an idle primary is not lag)
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                     WHEN NOT pg_is_in_recovery() THEN 0
+                     WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                     ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+                   END
+            """;
+
+    private static final int LAG_QUERY_TIMEOUT_SECONDS = 1;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReplicaRoutingProperties properties;
+    private final ReadYourWritesTracker readYourWrites;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService lagChecker;
+
+    private final Counter routedReplica;
+    private final Counter routedPrimaryLag;
+    private final Counter routedPrimaryReadYourWrites;
+
+    public ReplicaDataSource(DataSource primary, ReplicaRoutingProperties properties,
+                             ReadYourWritesTracker readYourWrites, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.properties = properties;
+        this.readYourWrites = readYourWrites;
+
+        this.replicas = new ArrayList<>();
+        for (ReplicaRoutingProperties.Replica config : properties.getReplicas()) {
+            Replica replica = new Replica(config.getName() != null ? config.getName() : "replica-" + replicas.size(),
+                    pool(config));
+            replicas.add(replica);
+            Gauge.builder("datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .tag("replica", replica.name)
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+        }
+
+        this.routedReplica = routed(meterRegistry, "replica", "healthy");
+        this.routedPrimaryLag = routed(meterRegistry, "primary", "no_healthy_replica");
+        this.routedPrimaryReadYourWrites = routed(meterRegistry, "primary", "read_your_writes");
+
+        this.lagChecker = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("replica-lag-check").daemon(true).factory());
+        long interval = properties.getLagCheckInterval().toMillis();
+        lagChecker.scheduleWithFixedDelay(this::checkLag, 0, interval, TimeUnit.MILLISECONDS);
+
+        log.info("Read-only routing over {} replica(s), selection {}", replicas.size(), properties.getSelection());
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return select().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return select().getConnection(username, password);
+    }
+
+    @Override
+    public void close() {
+        lagChecker.shutdownNow();
+        replicas.forEach(r -> r.pool.close());
+    }
+
+    private DataSource select() {
+        if (readYourWrites.currentUserWroteRecently()) {
+            routedPrimaryReadYourWrites.increment();
+            return primary;
+        }
+
+        Replica chosen = switch (properties.getSelection()) {
+            case ROUND_ROBIN -> roundRobin();
+            case LEAST_LOADED -> leastLoaded();
+        };
+        if (chosen == null) {
+            routedPrimaryLag.increment();
+            return primary;
+        }
+        routedReplica.increment();
+        return chosen.pool;
+    }
+
+    private Replica roundRobin() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica candidate = replicas.get((start + i) % size);
+            if (candidate.healthy) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private Replica leastLoaded() {
+        Replica best = null;
+        int bestActive = Integer.MAX_VALUE;
+        for (Replica candidate : replicas) {
+            if (!candidate.healthy) {
+                continue;
+            }
+            int active = candidate.pool.getHikariPoolMXBean() != null
+                    ? candidate.pool.getHikariPoolMXBean().getActiveConnections()
+                    : 0;
+            if (active < bestActive) {
+                best = candidate;
+                bestActive = active;
+            }
+        }
+        return best;
+    }
+
+    private void checkLag() {
+        double maxLag = properties.getMaxLag().toMillis() / 1000.0;
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.pool.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(LAG_QUERY_TIMEOUT_SECONDS);
+                ResultSet rs = statement.executeQuery(LAG_QUERY);
+                rs.next();
+                replica.lagSeconds = rs.getDouble(1);
+                boolean healthy = replica.lagSeconds <= maxLag;
+                if (healthy != replica.healthy) {
+                    log.warn("Replica {} {} (lag {}s)", replica.name, healthy ? "back in rotation" : "out of rotation",
+                            replica.lagSeconds);
+                }
+                replica.healthy = healthy;
+            } catch (Exception e) {
+                if (replica.healthy) {
+                    log.warn("Replica {} unreachable, out of rotation: {}", replica.name, e.getMessage());
+                }
+                replica.healthy = false;
+            }
+        }
+    }
+
+    private static HikariDataSource pool(ReplicaRoutingProperties.Replica config) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(config.getName());
+        pool.setJdbcUrl(config.getUrl());
+        pool.setUsername(config.getUsername());
+        pool.setPassword(config.getPassword());
+        pool.setMaximumPoolSize(config.getMaxPoolSize());
+        pool.setConnectionTimeout(config.getConnectionTimeout().toMillis());
+        pool.setValidationTimeout(Math.max(250, Math.min(config.getConnectionTimeout().toMillis() / 2, 5_000)));
+        pool.setReadOnly(true);
+        return pool;
+    }
+
+    private static Counter routed(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("datasource.routing.reads")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final HikariDataSource pool;
+        private volatile boolean healthy;  // false until the first lag check passes
+        private volatile double lagSeconds;
+
+        private Replica(String name, HikariDataSource pool) {
+            this.name = name;
+            this.pool = pool;
+        }
+    }
+}
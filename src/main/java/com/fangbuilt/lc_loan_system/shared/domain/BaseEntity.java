@@ -1,10 +1,14 @@
 package com.fangbuilt.lc_loan_system.shared.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.PartitionKey;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.domain.Persistable;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.io.Serializable;
@@ -15,13 +19,22 @@ import java.util.UUID;
 @Setter
 @MappedSuperclass
 @EntityListeners(AuditingEntityListener.class)
-public abstract class BaseEntity implements Serializable {
+public abstract class BaseEntity implements Serializable, Persistable<UUID> {
     
+    /**
+     * Time-ordered UUIDv7, assigned when the entity is persisted (see {@link #assignId()}).
+     * Entities loaded from the database or built only to be read never draw one.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
     
+    /**
+     * Also added to the WHERE clause of every entity UPDATE and DELETE, which lets Postgres
+     * prune the partitioned {@code loans} table to one partition; elsewhere it is a no-op
+     * filter on the row found by id.
+     */
     @CreatedDate
+    @PartitionKey
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
     
@@ -32,6 +45,31 @@ public abstract class BaseEntity implements Serializable {
     @Column
     private LocalDateTime deletedAt;
     
+    // Spring Data must not infer newness from a null id: a caller may assign one before save
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean newEntity = true;
+    
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return newEntity;
+    }
+    
+    @PrePersist
+    void assignId() {
+        if (id == null) {
+            id = UuidV7.generate();
+        }
+    }
+    
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
+    
     public boolean isDeleted() {
         return deletedAt != null;
     }
@@ -0,0 +1,62 @@
+package com.fangbuilt.lc_loan_system.shared.domain;
+
+import com.fangbuilt.lc_loan_system.shared.exception.BadRequestException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque continuation token for keyset pagination: the sort field, its value and the id of
+ * the last row on the previous page, as URL-safe Base64 JSON.
+ */
+public record PageCursor(String sortBy, JsonNode value, UUID id) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    public static PageCursor of(String sortBy, Object value, UUID id) {
+        return new PageCursor(sortBy, MAPPER.valueToTree(value), id);
+    }
+
+    public String encode() {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(this));
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot encode page cursor", e);
+        }
+    }
+
+    /**
+     * Parse a token from a request; anything malformed or incomplete is a 400
+     */
+    public static PageCursor decode(String token) {
+        PageCursor cursor;
+        try {
+            cursor = MAPPER.readValue(Base64.getUrlDecoder().decode(token), PageCursor.class);
+        } catch (Exception e) {
+            throw new BadRequestException("Invalid page cursor");
+        }
+        // Seeking past a missing value or id would compare against NULL and skip every row
+        if (cursor == null || cursor.sortBy() == null || cursor.value() == null || cursor.value().isNull()
+                || !cursor.value().isValueNode() || cursor.id() == null) {
+            throw new BadRequestException("Invalid page cursor");
+        }
+        return cursor;
+    }
+
+    /**
+     * The sort value converted back to the attribute's Java type
+     */
+    public <V> V valueAs(Class<V> type) {
+        try {
+            return MAPPER.treeToValue(value, type);
+        } catch (Exception e) {
+            throw new BadRequestException("Invalid page cursor");
+        }
+    }
+}
@@ -19,6 +19,29 @@ public class PageRequest {
     private String sortBy = "createdAt";
     private Sort.Direction sortDirection = Sort.Direction.DESC;
     private Map<String, Object> filters = new HashMap<>();
+    private Mode mode = Mode.OFFSET;
+    private String cursor;  // continuation token from the previous page (CURSOR mode)
+    private CountStrategy count = CountStrategy.EXACT;  // how OFFSET mode computes totals
+    
+    public enum Mode {
+        /** page/size with totals; cost grows with the page number */
+        OFFSET,
+        /** seek on (sortBy, id) after {@code cursor}; no COUNT, flat cost at any depth. sortBy must be an indexed, non-null filter field */
+        CURSOR
+    }
+    
+    public enum CountStrategy {
+        /** SELECT COUNT(*) with the same filters on every request */
+        EXACT,
+        /** exact count, cached per filter set until the entity is written (or a short TTL) */
+        CACHED,
+        /** planner row estimate for unfiltered listings; falls back to CACHED when filtered */
+        ESTIMATED
+    }
+    
+    public boolean isCursorMode() {
+        return mode == Mode.CURSOR || (cursor != null && !cursor.isEmpty());
+    }
     
     /**
      * Convert to Spring Pageable (0-based)
@@ -6,6 +6,7 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.domain.Page;
 
 import java.util.List;
+import java.util.function.Function;
 
 @Data
 @NoArgsConstructor
@@ -13,12 +14,22 @@ import java.util.List;
 public class PageResponse<T> {
     
     private List<T> data;
-    private int page;           // 1-based (user-facing)
+    private Integer page;           // 1-based (user-facing); null in cursor mode
     private int size;
-    private long totalElements;
-    private int totalPages;
+    private Long totalElements;     // null in cursor mode (no COUNT is run)
+    private Integer totalPages;     // null in cursor mode
+    private boolean totalExact;     // false when totals are a planner estimate (or absent)
     private boolean hasNext;
     private boolean hasPrevious;
+    private String nextCursor;      // pass back as ?cursor= for the next page; null on the last page
+    
+    /**
+     * Same page with each row converted, e.g. entity to response DTO
+     */
+    public <R> PageResponse<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> mapped = data.stream().<R>map(mapper).toList();
+        return new PageResponse<>(mapped, page, size, totalElements, totalPages, totalExact, hasNext, hasPrevious, nextCursor);
+    }
     
     public static <T> PageResponse<T> of(Page<T> page) {
         return new PageResponse<>(
@@ -27,8 +38,22 @@ public class PageResponse<T> {
             page.getSize(),
             page.getTotalElements(),
             page.getTotalPages(),
+            true,
             page.hasNext(),
-            page.hasPrevious()
+            page.hasPrevious(),
+            null
         );
     }
+    
+    /**
+     * Offset page whose total came from a count strategy; hasNext is known from the fetched rows
+     */
+    public static <T> PageResponse<T> of(List<T> data, int page, int size, long total, boolean exact, boolean hasNext) {
+        int totalPages = size == 0 ? 1 : (int) Math.ceil((double) total / size);
+        return new PageResponse<>(data, page, size, total, totalPages, exact, hasNext, page > 1, null);
+    }
+    
+    public static <T> PageResponse<T> ofCursor(List<T> data, int size, String nextCursor, boolean hasPrevious) {
+        return new PageResponse<>(data, null, size, null, null, false, nextCursor != null, hasPrevious, nextCursor);
+    }
 }
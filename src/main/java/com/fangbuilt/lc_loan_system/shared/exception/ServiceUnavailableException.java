@@ -0,0 +1,7 @@
+package com.fangbuilt.lc_loan_system.shared.exception;
+
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
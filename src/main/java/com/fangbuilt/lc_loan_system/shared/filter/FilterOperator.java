@@ -0,0 +1,23 @@
+package com.fangbuilt.lc_loan_system.shared.filter;
+
+/**
+ * Operators a request filter may use, written as a key suffix: {@code filters[amount:gte]=1000}.
+ * A key without a suffix means {@link #EQ} (or {@link #IN} for a list value).
+ */
+public enum FilterOperator {
+    EQ,
+    IN,
+    GTE,
+    LTE,
+    /** starts-with; also what a value ending in a single trailing {@code %} means */
+    PREFIX;
+
+    public static FilterOperator fromSuffix(String suffix) {
+        for (FilterOperator operator : values()) {
+            if (operator.name().equalsIgnoreCase(suffix)) {
+                return operator;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,244 @@
+package com.fangbuilt.lc_loan_system.shared.filter;
+
+import com.fangbuilt.lc_loan_system.shared.exception.BadRequestException;
+import jakarta.persistence.Column;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+/**
+ * Whitelist of the fields an entity may be filtered on, compiled once against the JPA metamodel.
+ *
+ * Each field carries its allowed operators, a value coercer chosen from the attribute type,
+ * whether an index backs it, and whether string matches are case-insensitive. Case-insensitive
+ * fields compare {@code lower(column)} with a pre-lowered value, and PREFIX becomes
+ * {@code lower(column) LIKE 'value%'}, both of which a {@code (lower(column) text_pattern_ops)}
+ * index can serve. Unknown fields and operators are rejected, and unindexed fields are
+ * rejected while the table is large.
+ */
+public final class FilterSchema<T> {
+
+    private final String entityName;
+    private final Map<String, CompiledField<T>> fields;
+
+    private FilterSchema(String entityName, Map<String, CompiledField<T>> fields) {
+        this.entityName = entityName;
+        this.fields = fields;
+    }
+
+    public static <T> Builder<T> builder(EntityType<T> entityType) {
+        return new Builder<>(entityType);
+    }
+
+    /**
+     * Request filters to predicates; blank values are ignored.
+     * {@code largeTable} is only asked when an unindexed field is used.
+     */
+    public Specification<T> toSpecification(Map<String, Object> filters, BooleanSupplier largeTable) {
+        List<Bound<T>> bound = new ArrayList<>(filters.size());
+        filters.forEach((key, value) -> {
+            if (value != null && !value.toString().isEmpty()) {
+                bound.add(bind(key, value, largeTable));
+            }
+        });
+
+        return (root, query, cb) -> {
+            Predicate[] predicates = new Predicate[bound.size()];
+            for (int i = 0; i < predicates.length; i++) {
+                predicates[i] = bound.get(i).toPredicate(root, cb);
+            }
+            return cb.and(predicates);
+        };
+    }
+
+    /**
+     * Reject a keyset sort key that could not seek: it must be whitelisted, non-null, and
+     * indexed on the plain column (a {@code lower(column)} index cannot serve ORDER BY column).
+     */
+    public void requireSeekable(String sortBy) {
+        CompiledField<T> field = sortBy != null ? fields.get(sortBy) : null;
+        if (field == null || !field.indexed() || field.ignoreCase() || !field.nonNull()) {
+            List<String> seekable = fields.values().stream()
+                    .filter(f -> f.indexed() && !f.ignoreCase() && f.nonNull())
+                    .map(f -> f.attribute().getName())
+                    .sorted()
+                    .toList();
+            throw new BadRequestException("Cannot page " + entityName + " by cursor on '" + sortBy
+                    + "'; sort by one of " + seekable);
+        }
+    }
+
+    private Bound<T> bind(String key, Object value, BooleanSupplier largeTable) {
+        int separator = key.indexOf(':');
+        String name = separator < 0 ? key : key.substring(0, separator);
+
+        CompiledField<T> field = fields.get(name);
+        if (field == null) {
+            throw new BadRequestException("Cannot filter " + entityName + " by '" + name + "'");
+        }
+
+        FilterOperator operator;
+        if (separator >= 0) {
+            operator = FilterOperator.fromSuffix(key.substring(separator + 1));
+        } else if (value instanceof Collection<?>) {
+            operator = FilterOperator.IN;
+        } else if (value instanceof String text && text.endsWith("%")) {
+            operator = FilterOperator.PREFIX;
+            value = text.substring(0, text.length() - 1);
+        } else {
+            operator = FilterOperator.EQ;
+        }
+        if (operator == null || !field.operators().contains(operator)) {
+            throw new BadRequestException("Filter '" + key + "' is not supported; '" + name
+                    + "' allows " + field.operators());
+        }
+        if (!field.indexed() && largeTable.getAsBoolean()) {
+            throw new BadRequestException("Filtering " + entityName + " by '" + name
+                    + "' is disabled on a table this large; use an indexed filter");
+        }
+
+        return new Bound<>(field, operator, coerce(field, operator, value));
+    }
+
+    private static Object coerce(CompiledField<?> field, FilterOperator operator, Object value) {
+        try {
+            if (operator == FilterOperator.IN) {
+                Collection<?> values = value instanceof Collection<?> c ? c : List.of(value.toString().split(","));
+                return values.stream().map(v -> field.normalise(v.toString())).toList();
+            }
+            if (operator == FilterOperator.PREFIX && value.toString().contains("%")) {
+                throw new BadRequestException("Only prefix matching is supported for '" + field.attribute().getName() + "'");
+            }
+            return field.normalise(value.toString());
+        } catch (BadRequestException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid value for filter '" + field.attribute().getName() + "': " + value);
+        }
+    }
+
+    private record Bound<T>(CompiledField<T> field, FilterOperator operator, Object value) {
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Predicate toPredicate(Root<T> root, CriteriaBuilder cb) {
+            Path path = root.get(field.attribute());
+            Expression expression = field.ignoreCase() ? cb.lower(path) : path;
+            return switch (operator) {
+                case EQ -> cb.equal(expression, value);
+                case IN -> expression.in((Collection<?>) value);
+                case GTE -> cb.greaterThanOrEqualTo(expression, (Comparable) value);
+                case LTE -> cb.lessThanOrEqualTo(expression, (Comparable) value);
+                case PREFIX -> cb.like(expression, escapeLike((String) value) + "%", '\\');
+            };
+        }
+
+        private static String escapeLike(String value) {
+            return value.replace("\\", "\\\\").replace("_", "\\_");
+        }
+    }
+
+    private record CompiledField<T>(
+            SingularAttribute<? super T, ?> attribute,
+            Set<FilterOperator> operators,
+            boolean indexed,
+            boolean ignoreCase,
+            boolean nonNull,
+            Function<String, Object> coercer
+    ) {
+        Object normalise(String raw) {
+            return coercer.apply(ignoreCase ? raw.toLowerCase() : raw);
+        }
+    }
+
+    public static final class Builder<T> {
+
+        private final EntityType<T> entityType;
+        private final Map<String, CompiledField<T>> fields = new LinkedHashMap<>();
+
+        private Builder(EntityType<T> entityType) {
+            this.entityType = entityType;
+        }
+
+        /**
+         * Exact-case field; {@code indexed} says whether an index serves these operators
+         */
+        public Builder<T> field(String name, boolean indexed, FilterOperator... operators) {
+            return add(name, indexed, false, operators);
+        }
+
+        /**
+         * String field matched case-insensitively (needs a lower(column) index to count as indexed)
+         */
+        public Builder<T> caseInsensitive(String name, boolean indexed, FilterOperator... operators) {
+            return add(name, indexed, true, operators);
+        }
+
+        public FilterSchema<T> build() {
+            return new FilterSchema<>(entityType.getName(), Map.copyOf(fields));
+        }
+
+        private Builder<T> add(String name, boolean indexed, boolean ignoreCase, FilterOperator... operators) {
+            SingularAttribute<? super T, ?> attribute = entityType.getSingularAttribute(name);
+            Class<?> type = attribute.getJavaType();
+            Set<FilterOperator> allowed = EnumSet.noneOf(FilterOperator.class);
+            allowed.addAll(List.of(operators));
+
+            if ((ignoreCase || allowed.contains(FilterOperator.PREFIX)) && type != String.class) {
+                throw new IllegalStateException(entityType.getName() + "." + name + " is not a string attribute");
+            }
+            fields.put(name, new CompiledField<>(attribute, allowed, indexed, ignoreCase, nonNull(attribute),
+                    coercerFor(type)));
+            return this;
+        }
+
+        // Hibernate reports most basic attributes as optional, so also honour @Column(nullable = false)
+        private static boolean nonNull(SingularAttribute<?, ?> attribute) {
+            if (attribute.isId() || attribute.getJavaType().isPrimitive() || !attribute.isOptional()) {
+                return true;
+            }
+            return attribute.getJavaMember() instanceof Field field
+                    && field.getAnnotation(Column.class) instanceof Column column
+                    && !column.nullable();
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static Function<String, Object> coercerFor(Class<?> type) {
+            if (type == String.class) return value -> value;
+            if (type == UUID.class) return UUID::fromString;
+            if (type == BigDecimal.class) return BigDecimal::new;
+            if (type == Integer.class || type == int.class) return Integer::valueOf;
+            if (type == Long.class || type == long.class) return Long::valueOf;
+            if (type == Boolean.class || type == boolean.class) return Boolean::valueOf;
+            if (type == LocalDate.class) return LocalDate::parse;
+            if (type == LocalDateTime.class) {
+                // A bare date means its start of day
+                return value -> value.length() == 10 ? LocalDate.parse(value).atStartOfDay() : LocalDateTime.parse(value);
+            }
+            if (type.isEnum()) {
+                Class<? extends Enum> enumType = (Class<? extends Enum>) type;
+                return value -> Enum.valueOf(enumType, value.toUpperCase());
+            }
+            throw new IllegalStateException("No filter coercion for " + type.getName());
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.fangbuilt.lc_loan_system.shared.http;
+
+import com.fangbuilt.lc_loan_system.shared.config.OutboundHttpProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.config.TlsConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.reactor.IOSession;
+import org.apache.hc.core5.reactor.IOSessionListener;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.stereotype.Component;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Shared outbound HTTP transport: a pooled, non-blocking client with keep-alive reuse
+ * and HTTP/2 negotiation over TLS.
+ *
+ * Requests are timed per host and connection opens are counted per host, so
+ * {@code http.client.connections.opened} against the request count shows how well
+ * connections are reused.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboundHttpClient {
+
+    private final OutboundHttpProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private PoolingAsyncClientConnectionManager connectionManager;
+    private CloseableHttpAsyncClient client;
+    private RequestConfig defaultRequestConfig;
+
+    @PostConstruct
+    public void start() {
+        this.connectionManager = PoolingAsyncClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxTotal())
+                .setMaxConnPerRoute(properties.getMaxPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(properties.getConnectTimeout()))
+                        .setTimeToLive(TimeValue.of(properties.getConnectionTtl()))
+                        .setValidateAfterInactivity(TimeValue.of(properties.getValidateAfterInactivity()))
+                        .build())
+                .setDefaultTlsConfig(TlsConfig.custom()
+                        .setVersionPolicy(properties.isHttp2()
+                                ? HttpVersionPolicy.NEGOTIATE
+                                : HttpVersionPolicy.FORCE_HTTP_1)
+                        .build())
+                .build();
+
+        properties.getRoutes().forEach((target, max) ->
+                connectionManager.setMaxPerRoute(toRoute(URI.create(target)), max));
+
+        this.defaultRequestConfig = RequestConfig.custom()
+                .setResponseTimeout(Timeout.of(properties.getResponseTimeout()))
+                .build();
+        this.client = HttpAsyncClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(defaultRequestConfig)
+                .setIOSessionListener(new ConnectionMetrics())
+                // Callers own retries (breaker, hedging); a hidden transport retry would outlive their timeouts
+                .disableAutomaticRetries()
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(properties.getIdleEviction()))
+                .build();
+        this.client.start();
+
+        registerPoolGauge("http.client.pool.leased", PoolStats::getLeased);
+        registerPoolGauge("http.client.pool.available", PoolStats::getAvailable);
+        registerPoolGauge("http.client.pool.pending", PoolStats::getPending);
+        registerPoolGauge("http.client.pool.max", PoolStats::getMax);
+    }
+
+    @PreDestroy
+    public void stop() {
+        client.close(CloseMode.GRACEFUL);
+    }
+
+    /**
+     * GET the URI and bind the JSON body; fails with {@link OutboundHttpException} on non-2xx
+     */
+    public <T> CompletableFuture<T> getJson(URI uri, Class<T> type) {
+        return readJson(get(uri), uri, type);
+    }
+
+    /**
+     * As {@link #getJson(URI, Class)}, giving up on the response after {@code responseTimeout}.
+     * Callers with their own deadline pass it here so an abandoned exchange cannot hold its
+     * connection past that deadline (see {@link #execute}).
+     */
+    public <T> CompletableFuture<T> getJson(URI uri, Class<T> type, Duration responseTimeout) {
+        SimpleHttpRequest request = SimpleRequestBuilder.get(uri).build();
+        request.setConfig(RequestConfig.copy(defaultRequestConfig)
+                .setResponseTimeout(Timeout.of(responseTimeout))
+                .build());
+        return readJson(execute(request), uri, type);
+    }
+
+    public CompletableFuture<SimpleHttpResponse> get(URI uri) {
+        return execute(SimpleRequestBuilder.get(uri).build());
+    }
+
+    /**
+     * Cancelling the returned future aborts the exchange and releases its connection. The one
+     * exception is an exchange that was handed an idle pooled connection straight away:
+     * HttpClient then replaces the exchange's cancel hook with the (already finished) lease's,
+     * so the connection stays leased until the response arrives or the response timeout fires.
+     */
+    public CompletableFuture<SimpleHttpResponse> execute(SimpleHttpRequest request) {
+        CompletableFuture<SimpleHttpResponse> result = new CompletableFuture<>();
+        String host = request.getAuthority() != null ? request.getAuthority().getHostName() : "unknown";
+        long start = System.nanoTime();
+
+        Future<SimpleHttpResponse> exchange = client.execute(request, new FutureCallback<>() {
+            @Override
+            public void completed(SimpleHttpResponse response) {
+                record(host, String.valueOf(response.getCode()), start);
+                if (response.getCode() >= 300) {
+                    result.completeExceptionally(new OutboundHttpException(
+                            host + " responded " + response.getCode(), response.getCode()));
+                } else {
+                    result.complete(response);
+                }
+            }
+
+            @Override
+            public void failed(Exception ex) {
+                record(host, "IO_ERROR", start);
+                result.completeExceptionally(ex);
+            }
+
+            @Override
+            public void cancelled() {
+                record(host, "CANCELLED", start);
+                result.cancel(false);
+            }
+        });
+        result.whenComplete((response, error) -> {
+            if (result.isCancelled()) {
+                exchange.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    private <T> CompletableFuture<T> readJson(CompletableFuture<SimpleHttpResponse> exchange, URI uri, Class<T> type) {
+        CompletableFuture<T> body = exchange.thenApply(response -> {
+            try {
+                return objectMapper.readValue(response.getBodyBytes(), type);
+            } catch (Exception e) {
+                throw new OutboundHttpException("Unreadable response from " + uri.getHost(), response.getCode());
+            }
+        });
+        body.whenComplete((value, error) -> {
+            if (body.isCancelled()) {
+                exchange.cancel(true);
+            }
+        });
+        return body;
+    }
+
+    private void record(String host, String status, long start) {
+        Timer.builder("http.client.outbound.requests")
+                .tag("host", host)
+                .tag("status", status)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private void registerPoolGauge(String name, ToDoubleFunction<PoolStats> value) {
+        Gauge.builder(name, connectionManager, manager -> value.applyAsDouble(manager.getTotalStats()))
+                .register(meterRegistry);
+    }
+
+    private static HttpRoute toRoute(URI target) {
+        boolean secure = "https".equalsIgnoreCase(target.getScheme());
+        int port = target.getPort() > 0 ? target.getPort() : (secure ? 443 : 80);
+        return new HttpRoute(new HttpHost(target.getScheme(), target.getHost(), port), null, secure);
+    }
+
+    private class ConnectionMetrics implements IOSessionListener {
+
+        @Override
+        public void connected(IOSession session) {
+            meterRegistry.counter("http.client.connections.opened", "host", hostOf(session)).increment();
+        }
+
+        @Override
+        public void disconnected(IOSession session) {
+            meterRegistry.counter("http.client.connections.closed", "host", hostOf(session)).increment();
+        }
+
+        @Override
+        public void startTls(IOSession session) {
+        }
+
+        @Override
+        public void inputReady(IOSession session) {
+        }
+
+        @Override
+        public void outputReady(IOSession session) {
+        }
+
+        @Override
+        public void timeout(IOSession session) {
+        }
+
+        @Override
+        public void exception(IOSession session, Exception ex) {
+        }
+
+        private String hostOf(IOSession session) {
+            SocketAddress address = session.getRemoteAddress();
+            return address instanceof InetSocketAddress inet ? inet.getHostString() : "unknown";
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.fangbuilt.lc_loan_system.shared.http;
+
+import lombok.Getter;
+
+/**
+ * Non-2xx response from an outbound call
+ */
+@Getter
+public class OutboundHttpException extends RuntimeException {
+
+    private final int statusCode;
+
+    public OutboundHttpException(String message, int statusCode) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+}
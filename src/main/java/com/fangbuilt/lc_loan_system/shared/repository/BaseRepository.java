@@ -36,17 +36,5 @@ public interface BaseRepository<T extends BaseEntity>
     @Query("UPDATE #{#entityName} e SET e.deletedAt = :now WHERE e.id = :id")
     void softDelete(@Param("id") UUID id, @Param("now") LocalDateTime now);
     
-    /**
-     * Bulk soft delete
-     */
-    @Modifying
-    @Query("UPDATE #{#entityName} e SET e.deletedAt = :now WHERE e.id IN :ids")
-    void softDeleteBatch(@Param("ids") List<UUID> ids, @Param("now") LocalDateTime now);
-    
-    /**
-     * Soft delete all
-     */
-    @Modifying
-    @Query("UPDATE #{#entityName} e SET e.deletedAt = :now")
-    void softDeleteAll(@Param("now") LocalDateTime now);
+    // Bulk soft deletes go through SoftDeleteExecutor (array-bound, chunked commits)
 }
@@ -0,0 +1,122 @@
+package com.fangbuilt.lc_loan_system.shared.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bulk soft deletes in bounded chunks.
+ *
+ * Each chunk binds its ids as one {@code uuid[]} parameter ({@code id = ANY(?)}), so every
+ * chunk shares a single statement and plan whatever its size. Each chunk commits in its own
+ * transaction, so row locks are held for one chunk at a time and a failure only loses the
+ * chunk in flight. Rows that are already deleted are skipped.
+ */
+@Slf4j
+@Component
+public class SoftDeleteExecutor {
+
+    public static final int DEFAULT_CHUNK_SIZE = 5_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate chunkTransaction;
+
+    public SoftDeleteExecutor(DataSource dataSource, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Soft delete the given ids of {@code table}, {@code chunkSize} rows per transaction
+     */
+    public Result deleteByIds(String table, List<UUID> ids, int chunkSize, ProgressListener listener) {
+        String sql = "UPDATE " + table + " SET deleted_at = ?, updated_at = ? "
+                + "WHERE id = ANY(?) AND deleted_at IS NULL";
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        long deleted = 0;
+        int chunks = 0;
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            Integer rows = chunkTransaction.execute(status -> jdbcTemplate.update(con -> {
+                PreparedStatement ps = con.prepareStatement(sql);
+                Array idArray = con.createArrayOf("uuid", chunk.toArray());
+                ps.setTimestamp(1, now);
+                ps.setTimestamp(2, now);
+                ps.setArray(3, idArray);
+                return ps;
+            }));
+            deleted += rows == null ? 0 : rows;
+            chunks++;
+            report(table, listener, from + chunk.size(), ids.size(), deleted);
+        }
+        return new Result(ids.size(), deleted, chunks);
+    }
+
+    /**
+     * Soft delete every live row of {@code table}, {@code chunkSize} rows per transaction.
+     * Chunks walk the primary key upwards from the last id of the previous chunk, so each one
+     * seeks straight past the rows already deleted. Rows inserted meanwhile with higher ids
+     * (UUIDv7 ids always are) are picked up too.
+     */
+    public Result deleteAll(String table, int chunkSize, ProgressListener listener) {
+        String sql = "WITH chunk AS (SELECT id FROM " + table + " WHERE id > ? AND deleted_at IS NULL "
+                + "ORDER BY id LIMIT ?), "
+                + "updated AS (UPDATE " + table + " SET deleted_at = ?, updated_at = ? "
+                + "WHERE id IN (SELECT id FROM chunk) AND deleted_at IS NULL RETURNING 1) "
+                + "SELECT (SELECT count(*) FROM updated), (SELECT id FROM chunk ORDER BY id DESC LIMIT 1)";
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        UUID lastId = new UUID(0, 0);
+        long deleted = 0;
+        int chunks = 0;
+        while (true) {
+            UUID after = lastId;
+            Chunk chunk = chunkTransaction.execute(status -> jdbcTemplate.queryForObject(sql,
+                    (rs, rowNum) -> new Chunk(rs.getLong(1), rs.getObject(2, UUID.class)),
+                    after, chunkSize, now, now));
+            if (chunk == null || chunk.lastId() == null) {
+                break;
+            }
+            lastId = chunk.lastId();
+            deleted += chunk.deleted();
+            chunks++;
+            report(table, listener, deleted, -1, deleted);
+        }
+        return new Result(deleted, deleted, chunks);
+    }
+
+    private static void report(String table, ProgressListener listener, long processed, long total, long deleted) {
+        log.debug("Soft delete on {}: {}/{} processed, {} deleted", table, processed, total < 0 ? "?" : total, deleted);
+        if (listener != null) {
+            listener.onChunk(processed, total, deleted);
+        }
+    }
+
+    /**
+     * Called after every committed chunk; {@code total} is -1 when not known up front
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        void onChunk(long processed, long total, long deleted);
+    }
+
+    /**
+     * {@code deleted} excludes ids that were missing or already deleted
+     */
+    public record Result(long requested, long deleted, int chunks) {}
+
+    private record Chunk(long deleted, UUID lastId) {}
+}
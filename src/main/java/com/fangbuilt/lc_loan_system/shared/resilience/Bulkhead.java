@@ -0,0 +1,56 @@
+package com.fangbuilt.lc_loan_system.shared.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Semaphore bulkhead capping concurrent calls to one dependency
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final Semaphore permits;
+    private final Duration maxWait;
+    private final Counter rejected;
+
+    public Bulkhead(String name, int maxConcurrentCalls, Duration maxWait, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.permits = new Semaphore(maxConcurrentCalls);
+        this.maxWait = maxWait;
+
+        Gauge.builder("resilience.bulkhead.available", permits, Semaphore::availablePermits)
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("resilience.bulkhead.max", permits, p -> maxConcurrentCalls)
+                .tag("name", name)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("resilience.calls.rejected")
+                .tag("name", name)
+                .tag("reason", "bulkhead_full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Take a slot, waiting at most maxWait; every successful call must be paired with {@link #release()}
+     */
+    public void acquire() {
+        try {
+            if (permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rejected.increment();
+        throw new CallNotPermittedException("Bulkhead '" + name + "' is full");
+    }
+
+    public void release() {
+        permits.release();
+    }
+}
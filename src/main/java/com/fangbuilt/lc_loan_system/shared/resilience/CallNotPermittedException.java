@@ -0,0 +1,10 @@
+package com.fangbuilt.lc_loan_system.shared.resilience;
+
+/**
+ * Thrown when a call is refused locally (open circuit, full bulkhead) without reaching the dependency
+ */
+public class CallNotPermittedException extends RuntimeException {
+    public CallNotPermittedException(String message) {
+        super(message);
+    }
+}
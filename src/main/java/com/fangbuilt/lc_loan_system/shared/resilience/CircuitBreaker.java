@@ -0,0 +1,146 @@
+package com.fangbuilt.lc_loan_system.shared.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+
+/**
+ * Count-based sliding window circuit breaker.
+ *
+ * CLOSED: calls pass; once the window holds at least minimumCalls outcomes and the failure
+ * rate reaches the threshold, the breaker OPENs.
+ * OPEN: calls fail fast until openDuration has elapsed, then HALF_OPEN.
+ * HALF_OPEN: up to halfOpenCalls trial calls pass; any failure re-OPENs, all succeeding CLOSEs.
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openDurationNanos;
+    private final int halfOpenCalls;
+    private final MeterRegistry meterRegistry;
+    private final Counter rejected;
+
+    // Guarded by this
+    private final boolean[] window;
+    private int windowIndex;
+    private int windowCount;
+    private int windowFailures;
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenStarted;
+    private int halfOpenSucceeded;
+
+    public CircuitBreaker(String name, int slidingWindowSize, int minimumCalls, double failureRateThreshold,
+                          Duration openDuration, int halfOpenCalls, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.window = new boolean[slidingWindowSize];
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationNanos = openDuration.toNanos();
+        this.halfOpenCalls = halfOpenCalls;
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("resilience.circuit.state", this, cb -> cb.getState().ordinal())
+                .tag("name", name)
+                .description("0 = closed, 1 = open, 2 = half-open")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("resilience.calls.rejected")
+                .tag("name", name)
+                .tag("reason", "circuit_open")
+                .register(meterRegistry);
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Ask to make a call. Throws when OPEN; otherwise the caller must report
+     * {@link #onSuccess()}, {@link #onFailure()} or {@link #onIgnored()}.
+     */
+    public synchronized void acquirePermission() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= openDurationNanos) {
+            transitionTo(State.HALF_OPEN);
+        }
+
+        if (state == State.OPEN || (state == State.HALF_OPEN && halfOpenStarted >= halfOpenCalls)) {
+            rejected.increment();
+            throw new CallNotPermittedException("Circuit breaker '" + name + "' is open");
+        }
+
+        if (state == State.HALF_OPEN) {
+            halfOpenStarted++;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++halfOpenSucceeded >= halfOpenCalls) {
+                transitionTo(State.CLOSED);
+            }
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.OPEN);
+            return;
+        }
+        record(true);
+        if (windowCount >= minimumCalls && (double) windowFailures / windowCount >= failureRateThreshold) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    /**
+     * The permitted call never reached the dependency (e.g. bulkhead rejection)
+     */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && halfOpenStarted > 0) {
+            halfOpenStarted--;
+        }
+    }
+
+    private void record(boolean failure) {
+        if (windowCount == window.length) {
+            if (window[windowIndex]) {
+                windowFailures--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowIndex] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+    }
+
+    private void transitionTo(State next) {
+        State previous = state;
+        state = next;
+        windowIndex = 0;
+        windowCount = 0;
+        windowFailures = 0;
+        halfOpenStarted = 0;
+        halfOpenSucceeded = 0;
+        if (next == State.OPEN) {
+            openedAt = System.nanoTime();
+        }
+
+        meterRegistry.counter("resilience.circuit.transitions",
+                "name", name, "from", previous.name().toLowerCase(), "to", next.name().toLowerCase())
+                .increment();
+        log.warn("Circuit breaker '{}' {} -> {}", name, previous, next);
+    }
+}
@@ -1,22 +1,104 @@
 package com.fangbuilt.lc_loan_system.shared.service;
 
 import com.fangbuilt.lc_loan_system.shared.domain.BaseEntity;
+import com.fangbuilt.lc_loan_system.shared.domain.PageCursor;
 import com.fangbuilt.lc_loan_system.shared.domain.PageRequest;
+import com.fangbuilt.lc_loan_system.shared.domain.PageResponse;
+import com.fangbuilt.lc_loan_system.shared.exception.BadRequestException;
 import com.fangbuilt.lc_loan_system.shared.exception.ResourceNotFoundException;
+import com.fangbuilt.lc_loan_system.shared.filter.FilterOperator;
+import com.fangbuilt.lc_loan_system.shared.filter.FilterSchema;
 import com.fangbuilt.lc_loan_system.shared.repository.BaseRepository;
+import com.fangbuilt.lc_loan_system.shared.repository.SoftDeleteExecutor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Table;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.GenericTypeResolver;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
 
+/**
+ * CRUD over a {@link BaseRepository} with soft delete, filtering and pagination.
+ *
+ * Reads run in read-only transactions: Spring flags the JDBC connection read-only and puts the
+ * Hibernate session in read-only mode, so loaded rows get no dirty-checking snapshot and the
+ * session is never flushed. Write methods open their own read-write transactions, and a read
+ * called from inside one simply joins it.
+ */
 @Slf4j
 public abstract class BaseCrudService<T extends BaseEntity, R extends BaseRepository<T>> {
     
+    private static final Duration COUNT_CACHE_TTL = Duration.ofMinutes(5);
+    private static final Duration TABLE_SIZE_RECHECK = Duration.ofMinutes(10);
+    private static final long LARGE_TABLE_ROWS = 100_000;
+    private static final int WRITE_CHUNK_SIZE = 500;  // matches hibernate.jdbc.batch_size
+    private static final int UPDATE_CHUNK_SIZE = 1_000;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Autowired
+    private SoftDeleteExecutor softDeleteExecutor;
+    
+    private final Class<T> entityClass;
+    private final String tableName;
+    private final Cache<String, Long> countCache = Caffeine.newBuilder()
+        .maximumSize(1_000)
+        .expireAfterWrite(COUNT_CACHE_TTL)
+        .build();
+    
+    private FilterSchema<T> filterSchema;
+    private volatile long tableSizeEstimate;
+    private volatile long tableSizeCheckedAt;
+    
+    @SuppressWarnings("unchecked")
+    protected BaseCrudService() {
+        this.entityClass = (Class<T>) GenericTypeResolver.resolveTypeArguments(getClass(), BaseCrudService.class)[0];
+        Table table = entityClass.getAnnotation(Table.class);
+        this.tableName = table != null && !table.name().isEmpty() ? table.name() : entityClass.getSimpleName();
+    }
+    
+    /**
+     * Compile the filter whitelist once against the metamodel
+     */
+    @PostConstruct
+    void compileFilters() {
+        FilterSchema.Builder<T> filters = FilterSchema.builder(entityManager.getMetamodel().entity(entityClass))
+            .field("id", true, FilterOperator.EQ, FilterOperator.IN);
+        defineFilters(filters);
+        this.filterSchema = filters.build();
+    }
+    
     protected abstract R getRepository();
     protected abstract String getEntityName();
     
@@ -26,21 +108,36 @@ public abstract class BaseCrudService<T extends BaseEntity, R extends BaseReposi
     @Transactional
     public T create(T entity) {
         log.debug("Creating {} entity", getEntityName());
+        invalidateCounts();
         return getRepository().save(entity);
     }
     
     /**
-     * CREATE - Bulk
+     * CREATE - Bulk. Persisted in chunks: each chunk is flushed as batched INSERTs and its
+     * entities are then detached, so the persistence context never holds more than one chunk.
+     * The returned entities are detached; anything else the caller's transaction has loaded
+     * stays managed.
      */
     @Transactional
     public List<T> bulkCreate(List<T> entities) {
         log.debug("Bulk creating {} {} entities", entities.size(), getEntityName());
-        return getRepository().saveAll(entities);
+        invalidateCounts();
+        
+        List<T> created = new ArrayList<>(entities.size());
+        for (int from = 0; from < entities.size(); from += WRITE_CHUNK_SIZE) {
+            List<T> chunk = entities.subList(from, Math.min(from + WRITE_CHUNK_SIZE, entities.size()));
+            List<T> saved = getRepository().saveAll(chunk);
+            entityManager.flush();
+            saved.forEach(entityManager::detach);
+            created.addAll(saved);
+        }
+        return created;
     }
     
     /**
      * READ - By ID
      */
+    @Transactional(readOnly = true)
     public T findById(UUID id) {
         return getRepository().findByIdActive(id)
             .orElseThrow(() -> new ResourceNotFoundException(
@@ -51,6 +148,7 @@ public abstract class BaseCrudService<T extends BaseEntity, R extends BaseReposi
     /**
      * READ - All with pagination, filtering, sorting
      */
+    @Transactional(readOnly = true)
     public Page<T> findAll(PageRequest pageRequest) {
         log.debug("Finding all {} with filters: {}", getEntityName(), pageRequest.getFilters());
         
@@ -60,6 +158,179 @@ public abstract class BaseCrudService<T extends BaseEntity, R extends BaseReposi
         return getRepository().findAll(spec, pageable);
     }
     
+    /**
+     * READ - One page in either mode: OFFSET (with totals) or CURSOR (keyset seek, no COUNT)
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<T> findPage(PageRequest pageRequest) {
+        if (pageRequest.isCursorMode()) {
+            return findSlice(pageRequest);
+        }
+        if (pageRequest.getCount() == PageRequest.CountStrategy.EXACT) {
+            return PageResponse.of(findAll(pageRequest));
+        }
+        return findPageWithoutCount(pageRequest);
+    }
+    
+    /**
+     * Offset page fetched without a COUNT; the total comes from the count cache or planner statistics
+     */
+    private PageResponse<T> findPageWithoutCount(PageRequest pageRequest) {
+        log.debug("Finding {} page {} with {} count, filters: {}", getEntityName(),
+            pageRequest.getPage(), pageRequest.getCount(), pageRequest.getFilters());
+        
+        Specification<T> spec = buildSpecification(pageRequest);
+        Pageable pageable = pageRequest.toPageable();
+        
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(entityClass);
+        Root<T> root = query.from(entityClass);
+        query.select(root)
+            .where(spec.toPredicate(root, query, cb))
+            .orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        
+        List<T> rows = entityManager.createQuery(query)
+            .setFirstResult((int) pageable.getOffset())
+            .setMaxResults(pageable.getPageSize() + 1)
+            .getResultList();
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        if (hasNext) {
+            rows = rows.subList(0, pageable.getPageSize());
+        }
+        
+        boolean unfiltered = activeFilters(pageRequest).isEmpty();
+        if (pageRequest.getCount() == PageRequest.CountStrategy.ESTIMATED && unfiltered) {
+            long estimate = estimateRowCount();
+            if (estimate >= 0) {
+                // Never report fewer rows than the page itself proves exist
+                long total = Math.max(estimate, pageable.getOffset() + rows.size() + (hasNext ? 1 : 0));
+                return PageResponse.of(rows, pageRequest.getPage(), pageRequest.getSize(), total, false, hasNext);
+            }
+        }
+        
+        long total = countCache.get(countKey(pageRequest), key -> getRepository().count(spec));
+        return PageResponse.of(rows, pageRequest.getPage(), pageRequest.getSize(), total, true, hasNext);
+    }
+    
+    /**
+     * Drop cached totals once the current transaction commits, so a concurrent reader cannot
+     * cache a count of the old data in between. Called on every write through this service;
+     * other writers of the same table must call it too.
+     */
+    public void invalidateCounts() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            countCache.invalidateAll();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                countCache.invalidateAll();
+            }
+        });
+    }
+    
+    /**
+     * Drop this entity's second-level cache data and all cached query results.
+     * JPQL and Criteria bulk updates do this by themselves; plain JDBC writes must call it.
+     */
+    protected void evictSecondLevelCache() {
+        org.hibernate.Cache cache = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(entityClass);
+        cache.evictNaturalIdData(entityClass);
+        cache.evictQueryRegions();
+    }
+    
+    // Filters normalised so equivalent requests share a cache entry
+    private String countKey(PageRequest pageRequest) {
+        return new TreeMap<>(activeFilters(pageRequest)).toString();
+    }
+    
+    private Map<String, Object> activeFilters(PageRequest pageRequest) {
+        Map<String, Object> active = new HashMap<>();
+        pageRequest.getFilters().forEach((key, value) -> {
+            if (value != null && !value.toString().isEmpty()) {
+                active.put(key, value);
+            }
+        });
+        return active;
+    }
+    
+    /**
+     * Planner row estimate, or -1 if the table was never analyzed. A partitioned parent has
+     * no rows of its own, so its estimate is the sum over its partitions.
+     */
+    private long estimateRowCount() {
+        Object estimate = entityManager.createNativeQuery(
+                "SELECT COALESCE((SELECT CASE WHEN c.relkind = 'p' THEN " +
+                    "(SELECT CASE WHEN bool_and(p.reltuples < 0) THEN -1 " +
+                    "ELSE sum(GREATEST(p.reltuples, 0))::bigint END " +
+                    "FROM pg_inherits i JOIN pg_class p ON p.oid = i.inhrelid WHERE i.inhparent = c.oid) " +
+                    "ELSE c.reltuples::bigint END " +
+                    "FROM pg_class c WHERE c.oid = to_regclass(:table)), -1)")
+            .setParameter("table", tableName)
+            .getSingleResult();
+        return ((Number) estimate).longValue();
+    }
+    
+    /**
+     * Keyset pagination: WHERE (sortBy, id) is past the cursor, ORDER BY sortBy, id, LIMIT size + 1.
+     * The extra row only tells whether another page exists. sortBy must be a whitelisted,
+     * non-null, indexed filter field (see {@link FilterSchema#requireSeekable}).
+     */
+    private PageResponse<T> findSlice(PageRequest pageRequest) {
+        log.debug("Finding {} page after cursor with filters: {}", getEntityName(), pageRequest.getFilters());
+        
+        String sortBy = pageRequest.getSortBy();
+        filterSchema.requireSeekable(sortBy);
+        Sort.Direction direction = pageRequest.getSortDirection();
+        PageCursor after = pageRequest.getCursor() == null || pageRequest.getCursor().isEmpty()
+            ? null
+            : PageCursor.decode(pageRequest.getCursor());
+        if (after != null && !sortBy.equals(after.sortBy())) {
+            throw new BadRequestException("Page cursor was issued for sortBy=" + after.sortBy());
+        }
+        
+        Specification<T> spec = buildSpecification(pageRequest);
+        if (after != null) {
+            spec = spec.and(seekAfter(sortBy, direction, after));
+        }
+        Sort sort = Sort.by(direction, sortBy).and(Sort.by(direction, "id"));
+        int size = pageRequest.getSize();
+        
+        List<T> rows = getRepository().findBy(spec, query -> query.sortBy(sort).limit(size + 1).all());
+        
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            T last = rows.get(size - 1);
+            Object value = PropertyAccessorFactory.forBeanPropertyAccess(last).getPropertyValue(sortBy);
+            nextCursor = PageCursor.of(sortBy, value, last.getId()).encode();
+        }
+        
+        return PageResponse.ofCursor(rows, size, nextCursor, after != null);
+    }
+    
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Specification<T> seekAfter(String sortBy, Sort.Direction direction, PageCursor after) {
+        return (root, query, cb) -> {
+            Path<Comparable> sortPath = root.get(sortBy);
+            Path<UUID> idPath = root.get("id");
+            Comparable value = after.valueAs(sortPath.getJavaType());
+            
+            if (direction.isAscending()) {
+                return cb.or(
+                    cb.greaterThan(sortPath, value),
+                    cb.and(cb.equal(sortPath, value), cb.greaterThan(idPath, after.id()))
+                );
+            }
+            return cb.or(
+                cb.lessThan(sortPath, value),
+                cb.and(cb.equal(sortPath, value), cb.lessThan(idPath, after.id()))
+            );
+        };
+    }
+    
     /**
      * UPDATE - Single entity
      */
@@ -69,25 +340,62 @@ public abstract class BaseCrudService<T extends BaseEntity, R extends BaseReposi
         
         T existing = findById(id);
         updateFields(existing, updatedEntity);
+        invalidateCounts();
         
         return getRepository().save(existing);
     }
     
     /**
-     * UPDATE - Bulk
+     * UPDATE - Bulk. One set-based {@code UPDATE ... WHERE id IN (...) AND deleted_at IS NULL}
+     * per chunk of ids; nothing is loaded. Returns the number of rows updated.
+     * If the caller's transaction already holds any of these entities they are detached,
+     * since their state is stale; re-read them to see the update.
      */
     @Transactional
-    public List<T> bulkUpdate(List<UUID> ids, T template) {
+    public int bulkUpdate(List<UUID> ids, T template) {
         log.debug("Bulk updating {} {} entities", ids.size(), getEntityName());
         
-        List<T> entities = getRepository().findAllById(ids);
-        entities.forEach(entity -> {
-            if (!entity.isDeleted()) {
-                updateFields(entity, template);
-            }
-        });
+        Map<String, Object> values = bulkUpdateValues(template);
+        if (values.isEmpty()) {
+            throw new BadRequestException("No fields to update");
+        }
+        invalidateCounts();
         
-        return getRepository().saveAll(entities);
+        LocalDateTime now = LocalDateTime.now();
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        int updated = 0;
+        for (int from = 0; from < ids.size(); from += UPDATE_CHUNK_SIZE) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + UPDATE_CHUNK_SIZE, ids.size()));
+            
+            CriteriaUpdate<T> update = cb.createCriteriaUpdate(entityClass);
+            Root<T> root = update.from(entityClass);
+            values.forEach(update::set);
+            update.set("updatedAt", now)
+                .where(root.get("id").in(chunk), cb.isNull(root.get("deletedAt")));
+            updated += entityManager.createQuery(update).executeUpdate();
+            detachManaged(chunk);
+        }
+        return updated;
+    }
+    
+    // Detach the entities with these ids the persistence context holds, without loading any
+    private void detachManaged(Collection<UUID> ids) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(entityClass);
+        for (UUID id : ids) {
+            Object managed = session.getPersistenceContextInternal().getEntity(session.generateEntityKey(id, persister));
+            if (managed != null) {
+                entityManager.detach(managed);
+            }
+        }
+    }
+    
+    /**
+     * Attribute values a bulk update writes, taken from the template.
+     * Services that support bulk updates override this to mirror {@link #updateFields}.
+     */
+    protected Map<String, Object> bulkUpdateValues(T template) {
+        throw new BadRequestException(getEntityName() + " does not support bulk update");
     }
     
     /**
@@ -101,59 +409,62 @@ public abstract class BaseCrudService<T extends BaseEntity, R extends BaseReposi
         findById(id);
         
         getRepository().softDelete(id, LocalDateTime.now());
+        invalidateCounts();
     }
     
     /**
-     * DELETE (SOFT) - Bulk
+     * DELETE (SOFT) - Bulk. Runs in chunks that each commit on their own, so call it outside
+     * a transaction; a failure leaves the earlier chunks deleted.
      */
-    @Transactional
-    public void bulkDelete(List<UUID> ids) {
+    public SoftDeleteExecutor.Result bulkDelete(List<UUID> ids) {
         log.debug("Bulk soft deleting {} {} entities", ids.size(), getEntityName());
-        getRepository().softDeleteBatch(ids, LocalDateTime.now());
+        try {
+            return softDeleteExecutor.deleteByIds(tableName, ids, SoftDeleteExecutor.DEFAULT_CHUNK_SIZE,
+                (processed, total, deleted) -> log.info("Soft deleted {} {} so far ({}/{} ids processed)",
+                    deleted, getEntityName(), processed, total));
+        } finally {
+            invalidateCounts();
+            evictSecondLevelCache();
+        }
     }
     
     /**
-     * DELETE (SOFT) - All
+     * DELETE (SOFT) - All, chunk by chunk with the same commit semantics as {@link #bulkDelete}
      */
-    @Transactional
-    public void deleteAll() {
+    public SoftDeleteExecutor.Result deleteAll() {
         log.warn("Soft deleting ALL {} entities", getEntityName());
-        getRepository().softDeleteAll(LocalDateTime.now());
+        try {
+            return softDeleteExecutor.deleteAll(tableName, SoftDeleteExecutor.DEFAULT_CHUNK_SIZE,
+                (processed, total, deleted) -> log.info("Soft deleted {} {} so far", deleted, getEntityName()));
+        } finally {
+            invalidateCounts();
+            evictSecondLevelCache();
+        }
     }
     
     /**
-     * Build dynamic specification for filtering
+     * Request filters through the compiled schema, always excluding soft-deleted rows
      */
     private Specification<T> buildSpecification(PageRequest pageRequest) {
-        return (root, query, criteriaBuilder) -> {
-            var predicates = new java.util.ArrayList<jakarta.persistence.criteria.Predicate>();
-            
-            // Always exclude soft-deleted
-            predicates.add(criteriaBuilder.isNull(root.get("deletedAt")));
-            
-            // Apply filters
-            pageRequest.getFilters().forEach((key, value) -> {
-                if (value != null && !value.toString().isEmpty()) {
-                    if (value instanceof String strValue && strValue.contains("%")) {
-                        // LIKE query
-                        predicates.add(
-                            criteriaBuilder.like(
-                                criteriaBuilder.lower(root.get(key).as(String.class)),
-                                strValue.toLowerCase()
-                            )
-                        );
-                    } else if (value instanceof List<?> listValue) {
-                        // IN query
-                        predicates.add(root.get(key).in(listValue));
-                    } else {
-                        // Exact match
-                        predicates.add(criteriaBuilder.equal(root.get(key), value));
-                    }
-                }
-            });
-            
-            return criteriaBuilder.and(predicates.toArray(new jakarta.persistence.criteria.Predicate[0]));
-        };
+        Specification<T> notDeleted = (root, query, cb) -> cb.isNull(root.get("deletedAt"));
+        return notDeleted.and(filterSchema.toSpecification(pageRequest.getFilters(), this::isLargeTable));
+    }
+    
+    /**
+     * Whitelist the fields clients may filter on; {@code id} is always allowed.
+     * Mark a field indexed only if an index actually serves the declared operators.
+     */
+    protected void defineFilters(FilterSchema.Builder<T> filters) {
+    }
+    
+    // Unindexed filters are refused above this many rows; the estimate is refreshed every few minutes
+    private boolean isLargeTable() {
+        long now = System.nanoTime();
+        if (now - tableSizeCheckedAt > TABLE_SIZE_RECHECK.toNanos() || tableSizeCheckedAt == 0) {
+            tableSizeEstimate = estimateRowCount();
+            tableSizeCheckedAt = now;
+        }
+        return tableSizeEstimate > LARGE_TABLE_ROWS;
     }
     
     /**
@@ -0,0 +1,213 @@
+package com.fangbuilt.lc_loan_system.shared.service;
+
+import com.fangbuilt.lc_loan_system.shared.config.CreditScoreProperties;
+import com.fangbuilt.lc_loan_system.shared.http.OutboundHttpClient;
+import com.fangbuilt.lc_loan_system.shared.resilience.Bulkhead;
+import com.fangbuilt.lc_loan_system.shared.resilience.CallNotPermittedException;
+import com.fangbuilt.lc_loan_system.shared.resilience.CircuitBreaker;
+import com.fangbuilt.lc_loan_system.shared.resilience.LatencyTracker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Upstream credit bureau calls guarded by a circuit breaker, a bulkhead and hedging.
+ *
+ * The breaker fails fast while the bureau is unhealthy, the bulkhead caps in-flight
+ * attempts, and once a call outlives the recent p95 latency a second identical call is
+ * fired; whichever returns first wins.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CreditBureauClient {
+
+    private static final String NAME = "credit-bureau";
+
+    private final OutboundHttpClient httpClient;
+    private final CreditScoreProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private CircuitBreaker circuitBreaker;
+    private Bulkhead bulkhead;
+    private LatencyTracker latency;
+    private ScheduledExecutorService scheduler;
+    private ExecutorService executor;
+    private Counter hedgesLaunched;
+    private Counter hedgesWon;
+
+    @PostConstruct
+    public void init() {
+        CreditScoreProperties.Resilience config = properties.getResilience();
+
+        this.circuitBreaker = new CircuitBreaker(NAME, config.getSlidingWindowSize(), config.getMinimumCalls(),
+                config.getFailureRateThreshold(), config.getOpenDuration(), config.getHalfOpenCalls(), meterRegistry);
+        this.bulkhead = new Bulkhead(NAME, config.getMaxConcurrentCalls(), config.getBulkheadMaxWait(), meterRegistry);
+        this.latency = new LatencyTracker(config.getLatencySamples());
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("credit-bureau-hedge-timer").daemon(true).factory());
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+
+        this.hedgesLaunched = Counter.builder("resilience.hedge.launched").tag("name", NAME).register(meterRegistry);
+        this.hedgesWon = Counter.builder("resilience.hedge.won").tag("name", NAME).register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        executor.shutdown();
+    }
+
+    /**
+     * Fetch {@code count} scores in one upstream request.
+     * Fails with {@link CallNotPermittedException} when the breaker or bulkhead refuses the call.
+     */
+    public CompletableFuture<Integer[]> fetchScores(int count) {
+        try {
+            circuitBreaker.acquirePermission();
+        } catch (CallNotPermittedException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return hedged(count)
+                .orTimeout(properties.getResilience().getTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((scores, error) -> {
+                    if (error == null) {
+                        circuitBreaker.onSuccess();
+                    } else if (unwrap(error) instanceof CallNotPermittedException) {
+                        circuitBreaker.onIgnored();
+                    } else {
+                        circuitBreaker.onFailure();
+                    }
+                });
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    // Once the result is settled (by an attempt or by the timeout) every other attempt is cancelled
+    private CompletableFuture<Integer[]> hedged(int count) {
+        CompletableFuture<Integer[]> primary = attempt(count);
+        long delay = hedgeDelayNanos();
+        if (delay < 0) {
+            return primary;
+        }
+
+        CompletableFuture<Integer[]> result = new CompletableFuture<>();
+        AtomicInteger outstanding = new AtomicInteger(1);
+        AtomicReference<CompletableFuture<Integer[]>> hedge = new AtomicReference<>();
+
+        ScheduledFuture<?> hedgeTimer = scheduler.schedule(() -> {
+            if (result.isDone()) {
+                return;
+            }
+            outstanding.incrementAndGet();
+            hedgesLaunched.increment();
+            CompletableFuture<Integer[]> second = attempt(count);
+            hedge.set(second);
+            second.whenComplete((scores, error) -> settle(result, outstanding, scores, error, true));
+            if (result.isDone()) {
+                second.cancel(true);
+            }
+        }, delay, TimeUnit.NANOSECONDS);
+
+        primary.whenComplete((scores, error) -> settle(result, outstanding, scores, error, false));
+        result.whenComplete((scores, error) -> {
+            hedgeTimer.cancel(false);
+            primary.cancel(true);
+            CompletableFuture<Integer[]> second = hedge.get();
+            if (second != null) {
+                second.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    // First success wins; the result fails only once every launched attempt has failed
+    private void settle(CompletableFuture<Integer[]> result, AtomicInteger outstanding,
+                        Integer[] scores, Throwable error, boolean hedge) {
+        if (error == null) {
+            if (result.complete(scores) && hedge) {
+                hedgesWon.increment();
+            }
+        } else if (outstanding.decrementAndGet() == 0) {
+            result.completeExceptionally(unwrap(error));
+        }
+    }
+
+    /**
+     * One upstream call. Completing the returned future from outside (cancellation, timeout)
+     * aborts the HTTP exchange; the bulkhead slot is released exactly once either way.
+     */
+    private CompletableFuture<Integer[]> attempt(int count) {
+        URI uri = URI.create(properties.getUrl() + "&count=" + count);
+        CompletableFuture<Integer[]> result = new CompletableFuture<>();
+
+        // Bulkhead wait may block briefly, so take the slot on a virtual thread
+        CompletableFuture.runAsync(bulkhead::acquire, executor).whenComplete((permit, refused) -> {
+            if (refused != null) {
+                result.completeExceptionally(unwrap(refused));
+                return;
+            }
+            if (result.isDone()) {
+                bulkhead.release();
+                return;
+            }
+
+            long start = System.nanoTime();
+            CompletableFuture<Integer[]> call;
+            try {
+                call = httpClient.getJson(uri, Integer[].class, properties.getResilience().getTimeout());
+            } catch (RuntimeException e) {
+                // Nothing was sent, so no callback will release the slot
+                bulkhead.release();
+                result.completeExceptionally(e);
+                return;
+            }
+            call.whenComplete((scores, error) -> {
+                bulkhead.release();
+                if (error == null) {
+                    latency.record(System.nanoTime() - start);
+                    result.complete(scores);
+                } else {
+                    result.completeExceptionally(unwrap(error));
+                }
+            });
+            result.whenComplete((scores, error) -> {
+                if (!call.isDone()) {
+                    call.cancel(true);
+                }
+            });
+        });
+        return result;
+    }
+
+    private long hedgeDelayNanos() {
+        CreditScoreProperties.Resilience config = properties.getResilience();
+        if (!config.isHedgingEnabled() || latency.size() < config.getMinLatencySamples()) {
+            return -1;
+        }
+        return Math.max(config.getMinHedgeDelay().toNanos(), latency.percentile(config.getHedgePercentile()));
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+}
@@ -0,0 +1,140 @@
+package com.fangbuilt.lc_loan_system.shared.service;
+
+import com.fangbuilt.lc_loan_system.shared.config.CreditScoreProperties;
+import com.fangbuilt.lc_loan_system.shared.exception.BadRequestException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces concurrent credit score lookups into one upstream call.
+ *
+ * Requests are collected until either {@code credit-score.batch.max-size} callers are
+ * waiting or {@code credit-score.batch.max-wait} has passed since the first one arrived,
+ * then a single {@code count=N} request is sent through {@link CreditBureauClient} and
+ * each caller's future is completed with its own value.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CreditScoreBatchClient {
+
+    private final CreditBureauClient bureauClient;
+    private final CreditScoreProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final Object lock = new Object();
+    private List<PendingScore> batch = new ArrayList<>();
+    private ScheduledFuture<?> flushTimer;
+    private ScheduledExecutorService scheduler;
+    private DistributionSummary batchSize;
+    private Timer batchWait;
+
+    @PostConstruct
+    public void init() {
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("credit-score-batch-timer").daemon(true).factory());
+
+        this.batchSize = DistributionSummary.builder("credit.score.batch.size")
+                .description("Score requests sent per upstream call")
+                .register(meterRegistry);
+        this.batchWait = Timer.builder("credit.score.batch.wait")
+                .description("Time a score request waited for its batch to be flushed")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        List<PendingScore> remaining;
+        synchronized (lock) {
+            remaining = takeBatch();
+        }
+        if (!remaining.isEmpty()) {
+            send(remaining, "shutdown");
+        }
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Queue a score lookup; the future completes when its batch returns
+     */
+    public CompletableFuture<Integer> fetch(String customerId) {
+        PendingScore pending = new PendingScore(customerId, new CompletableFuture<>(), System.nanoTime());
+        List<PendingScore> full = null;
+
+        synchronized (lock) {
+            batch.add(pending);
+            if (batch.size() >= properties.getBatch().getMaxSize()) {
+                full = takeBatch();
+            } else if (batch.size() == 1) {
+                flushTimer = scheduler.schedule(this::flushOnTimeout,
+                        properties.getBatch().getMaxWait().toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+
+        if (full != null) {
+            send(full, "size");
+        }
+        return pending.future();
+    }
+
+    private void flushOnTimeout() {
+        List<PendingScore> expired;
+        synchronized (lock) {
+            if (batch.isEmpty()) {
+                return;
+            }
+            expired = takeBatch();
+        }
+        send(expired, "time");
+    }
+
+    // Caller must hold lock
+    private List<PendingScore> takeBatch() {
+        List<PendingScore> taken = batch;
+        batch = new ArrayList<>();
+        if (flushTimer != null) {
+            flushTimer.cancel(false);
+            flushTimer = null;
+        }
+        return taken;
+    }
+
+    private void send(List<PendingScore> requests, String reason) {
+        long now = System.nanoTime();
+        requests.forEach(r -> batchWait.record(now - r.enqueuedAt(), TimeUnit.NANOSECONDS));
+        batchSize.record(requests.size());
+        meterRegistry.counter("credit.score.batch.flush", "reason", reason).increment();
+
+        bureauClient.fetchScores(requests.size()).whenComplete((scores, error) -> {
+            if (error == null && (scores == null || scores.length < requests.size())) {
+                error = new BadRequestException("Credit score service returned empty response");
+            }
+            if (error != null) {
+                Throwable cause = error;
+                requests.forEach(r -> r.future().completeExceptionally(cause));
+                return;
+            }
+
+            for (int i = 0; i < requests.size(); i++) {
+                requests.get(i).future().complete(scores[i]);
+            }
+            log.debug("Credit score batch of {} flushed on {}", requests.size(), reason);
+        });
+    }
+
+    private record PendingScore(String customerId, CompletableFuture<Integer> future, long enqueuedAt) {}
+}
@@ -0,0 +1,208 @@
+package com.fangbuilt.lc_loan_system.shared.service;
+
+import com.fangbuilt.lc_loan_system.shared.config.CreditScoreProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Per-customer credit score cache: a bounded in-process tier in front of Redis.
+ *
+ * Entries live for {@code credit-score.cache.ttl} measured from when the bureau returned
+ * the score, in both tiers. Once an entry is past the refresh-ahead fraction of its TTL
+ * the cached score is still returned, and a single background reload replaces it.
+ * Redis failures degrade to a miss.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CreditScoreCache {
+
+    private static final String KEY_PREFIX = "credit-score::";
+
+    private final StringRedisTemplate redisTemplate;
+    private final CreditScoreProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, CompletableFuture<Integer>> loading = new ConcurrentHashMap<>();
+    private Cache<String, CachedScore> local;
+
+    @PostConstruct
+    public void init() {
+        this.local = Caffeine.newBuilder()
+                .maximumSize(properties.getCache().getLocalMaxSize())
+                .expireAfter(new Expiry<String, CachedScore>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedScore value, long currentTime) {
+                        return Math.max(0, value.remainingTtl(ttl()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedScore value, long currentTime,
+                                                  long currentDuration) {
+                        return Math.max(0, value.remainingTtl(ttl()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedScore value, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .removalListener((String key, CachedScore value, RemovalCause cause) -> {
+                    if (cause.wasEvicted()) {
+                        meterRegistry.counter("credit.score.cache.evictions",
+                                "cause", cause.name().toLowerCase()).increment();
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Cached score for the customer, loading through {@code loader} on a miss.
+     * Concurrent misses for the same customer share one load.
+     */
+    public CompletableFuture<Integer> get(String customerId,
+                                          Function<String, CompletableFuture<Integer>> loader) {
+        if (!properties.getCache().isEnabled()) {
+            return loader.apply(customerId);
+        }
+
+        CachedScore cached = local.getIfPresent(customerId);
+        if (cached != null) {
+            recordHit("local");
+        } else {
+            cached = readRedis(customerId);
+            if (cached != null) {
+                recordHit("redis");
+                local.put(customerId, cached);
+            }
+        }
+
+        if (cached != null) {
+            if (cached.isDueForRefresh(ttl(), properties.getCache().getRefreshAhead())) {
+                load(customerId, loader).exceptionally(e -> {
+                    log.warn("Refresh-ahead failed for customer {}: {}", customerId, e.getMessage());
+                    return null;
+                });
+            }
+            return CompletableFuture.completedFuture(cached.score());
+        }
+
+        meterRegistry.counter("credit.score.cache.misses").increment();
+        return load(customerId, loader);
+    }
+
+    /**
+     * Drop the customer's score from both tiers
+     */
+    public void evict(String customerId) {
+        local.invalidate(customerId);
+        try {
+            redisTemplate.delete(KEY_PREFIX + customerId);
+        } catch (DataAccessException e) {
+            log.warn("Failed to evict credit score for customer {} from Redis: {}", customerId, e.getMessage());
+        }
+    }
+
+    /**
+     * Drop every score held by this node; Redis entries expire on their own TTL
+     */
+    public void evictLocal() {
+        local.invalidateAll();
+    }
+
+    private CompletableFuture<Integer> load(String customerId,
+                                            Function<String, CompletableFuture<Integer>> loader) {
+        CompletableFuture<Integer> pending = new CompletableFuture<>();
+        CompletableFuture<Integer> existing = loading.putIfAbsent(customerId, pending);
+        if (existing != null) {
+            return existing;
+        }
+
+        CompletableFuture<Integer> loaded;
+        try {
+            loaded = loader.apply(customerId);
+        } catch (RuntimeException e) {
+            // A loader that throws instead of returning a failed future must not leave the slot taken
+            loading.remove(customerId, pending);
+            pending.completeExceptionally(e);
+            return pending;
+        }
+
+        loaded.whenComplete((score, error) -> {
+            loading.remove(customerId, pending);
+            if (error != null) {
+                pending.completeExceptionally(error);
+                return;
+            }
+            store(customerId, new CachedScore(score, System.currentTimeMillis()));
+            pending.complete(score);
+        });
+        return pending;
+    }
+
+    private void store(String customerId, CachedScore score) {
+        local.put(customerId, score);
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + customerId, score.encode(), ttl());
+        } catch (DataAccessException e) {
+            log.warn("Failed to write credit score for customer {} to Redis: {}", customerId, e.getMessage());
+        }
+    }
+
+    private CachedScore readRedis(String customerId) {
+        try {
+            String value = redisTemplate.opsForValue().get(KEY_PREFIX + customerId);
+            return value != null ? CachedScore.decode(value) : null;
+        } catch (DataAccessException e) {
+            log.warn("Redis unavailable for credit score lookup: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void recordHit(String tier) {
+        meterRegistry.counter("credit.score.cache.hits", "tier", tier).increment();
+    }
+
+    private Duration ttl() {
+        return properties.getCache().getTtl();
+    }
+
+    private record CachedScore(int score, long fetchedAt) {
+
+        Duration remainingTtl(Duration ttl) {
+            return Duration.ofMillis(fetchedAt + ttl.toMillis() - System.currentTimeMillis());
+        }
+
+        boolean isDueForRefresh(Duration ttl, double refreshAhead) {
+            return System.currentTimeMillis() - fetchedAt >= ttl.toMillis() * refreshAhead;
+        }
+
+        String encode() {
+            return score + ":" + fetchedAt;
+        }
+
+        static CachedScore decode(String value) {
+            int separator = value.indexOf(':');
+            return new CachedScore(
+                    Integer.parseInt(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1))
+            );
+        }
+    }
+}
@@ -1,20 +1,22 @@
 package com.fangbuilt.lc_loan_system.shared.service;
 
 import com.fangbuilt.lc_loan_system.shared.exception.BadRequestException;
+import com.fangbuilt.lc_loan_system.shared.exception.ServiceUnavailableException;
+import com.fangbuilt.lc_loan_system.shared.resilience.CallNotPermittedException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class CreditScoreService {
     
-    private final RestTemplate restTemplate;
-    private static final String CREDIT_SCORE_API = 
-        "https://www.randomnumberapi.com/api/v1.0/random?min=300&max=850&count=1";
+    private final CreditScoreBatchClient batchClient;
+    private final CreditScoreCache cache;
     
     /**
      * Get credit score from external API
@@ -24,44 +26,38 @@ public class CreditScoreService {
         try {
             log.info("Fetching credit score for customer: {}", customerId);
             
-            Integer[] response = restTemplate.getForObject(CREDIT_SCORE_API, Integer[].class);
-            
-            if (response == null || response.length == 0) {
-                throw new BadRequestException("Credit score service returned empty response");
-            }
-            
-            int score = response[0];
+            int score = getCreditScoreAsync(customerId).join();
             log.info("Credit score for customer {}: {}", customerId, score);
             
             return score;
             
-        } catch (RestClientException e) {
-            log.error("Failed to fetch credit score: {}", e.getMessage());
-            throw new BadRequestException("Credit score service unavailable. Please try again later.");
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            log.error("Failed to fetch credit score: {}", cause.getMessage());
+            if (cause instanceof CallNotPermittedException) {
+                throw new ServiceUnavailableException(
+                    "Credit score service is temporarily unavailable. Please try again later."
+                );
+            }
+            if (cause instanceof BadRequestException badRequest) {
+                throw badRequest;
+            }
+            throw new ServiceUnavailableException("Credit score service unavailable. Please try again later.");
         }
     }
     
     /**
-     * Determine loan eligibility based on credit score
-     * 
-     * Rules:
-     * - Score >= 700: Approved with 10% interest
-     * - Score 600-699: Approved with 15% interest  
-     * - Score < 600: Rejected
+     * Non-blocking variant; served from cache when possible,
+     * otherwise concurrent lookups share one upstream request
      */
-    public LoanEligibility checkEligibility(int creditScore) {
-        if (creditScore >= 700) {
-            return new LoanEligibility(true, 10.0, "Excellent credit score");
-        } else if (creditScore >= 600) {
-            return new LoanEligibility(true, 15.0, "Good credit score");
-        } else {
-            return new LoanEligibility(false, 0.0, "Credit score too low");
-        }
+    public CompletableFuture<Integer> getCreditScoreAsync(String customerId) {
+        return cache.get(customerId, batchClient::fetch);
     }
     
-    public record LoanEligibility(
-        boolean approved,
-        double interestRate,
-        String reason
-    ) {}
+    /**
+     * Force the next lookup for this customer to hit the bureau
+     */
+    public void invalidateCreditScore(String customerId) {
+        cache.evict(customerId);
+    }
 }
@@ -0,0 +1,176 @@
+-- Baseline schema: every table the entities map, plus the indexes the repositories rely on.
+-- Idempotent, so it also applies cleanly to a database previously built by ddl-auto=update
+-- (spring.flyway.baseline-on-migrate with baseline-version 0 runs it there too).
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- users ------------------------------------------------------------------------------------
+
+CREATE TABLE IF NOT EXISTS users (
+    id         uuid         NOT NULL,
+    created_at timestamp(6) NOT NULL,
+    updated_at timestamp(6) NOT NULL,
+    deleted_at timestamp(6),
+    username   varchar(255) NOT NULL,
+    password   varchar(255) NOT NULL,
+    role       varchar(255) NOT NULL,
+    enabled    boolean      NOT NULL,
+    CONSTRAINT users_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username),  -- findByUsername, existsByUsername
+    CONSTRAINT users_role_check CHECK (role IN ('CUSTOMER', 'ADMIN'))
+);
+
+-- customer_profiles ------------------------------------------------------------------------
+
+CREATE TABLE IF NOT EXISTS customer_profiles (
+    id                uuid           NOT NULL,
+    created_at        timestamp(6)   NOT NULL,
+    updated_at        timestamp(6)   NOT NULL,
+    deleted_at        timestamp(6),
+    user_id           uuid           NOT NULL,
+    name              varchar(255)   NOT NULL,
+    email             varchar(255)   NOT NULL,
+    monthly_income    numeric(19, 2) NOT NULL,
+    ktp_path          varchar(255),
+    salary_slip_path  varchar(255),
+    CONSTRAINT customer_profiles_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_customer_profiles_user_id UNIQUE (user_id),  -- findByUserId, findIdByUserId, applicant lookup
+    CONSTRAINT uk_customer_profiles_email UNIQUE (email),      -- findByEmail, existsByEmail
+    CONSTRAINT fk_customer_profiles_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+-- Case-insensitive equality and prefix filters compare lower(column)
+CREATE INDEX IF NOT EXISTS idx_customer_profiles_lower_name
+    ON customer_profiles (lower(name) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_customer_profiles_lower_email
+    ON customer_profiles (lower(email) text_pattern_ops);
+
+-- GET /api/customers/search (similarity and substring matches)
+CREATE INDEX IF NOT EXISTS idx_customer_profiles_name_trgm
+    ON customer_profiles USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_customer_profiles_email_trgm
+    ON customer_profiles USING gin (lower(email) gin_trgm_ops);
+
+-- refresh_tokens ---------------------------------------------------------------------------
+
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id          uuid         NOT NULL,
+    created_at  timestamp(6) NOT NULL,
+    updated_at  timestamp(6) NOT NULL,
+    deleted_at  timestamp(6),
+    token       varchar(255) NOT NULL,
+    customer_id uuid         NOT NULL,
+    expires_at  timestamp(6) NOT NULL,
+    revoked_at  timestamp(6),
+    CONSTRAINT refresh_tokens_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_refresh_tokens_token UNIQUE (token),  -- findByTokenAndNotRevoked
+    CONSTRAINT fk_refresh_tokens_customer FOREIGN KEY (customer_id) REFERENCES customer_profiles (id)
+);
+
+-- deleteByCustomerId
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_customer_id
+    ON refresh_tokens (customer_id);
+
+-- loans ------------------------------------------------------------------------------------
+
+-- Range-partitioned by month of created_at. A plain loans table left by ddl-auto=update is
+-- converted in place; existing rows are copied into the partitions. Later months are added
+-- by LoanPartitionMaintenance, anything outside the prepared months lands in loans_default.
+DO $$
+DECLARE
+    legacy     boolean := EXISTS (SELECT 1 FROM pg_class WHERE oid = to_regclass('loans') AND relkind = 'r');
+    part_month date;
+BEGIN
+    IF legacy THEN
+        ALTER TABLE loans RENAME TO loans_unpartitioned;
+    END IF;
+
+    CREATE TABLE IF NOT EXISTS loans (
+        id               uuid           NOT NULL,
+        created_at       timestamp(6)   NOT NULL,
+        updated_at       timestamp(6)   NOT NULL,
+        deleted_at       timestamp(6),
+        customer_id      uuid           NOT NULL,
+        amount           numeric(19, 2) NOT NULL,
+        tenor_months     integer        NOT NULL,
+        interest_rate    numeric(5, 2)  NOT NULL,
+        status           varchar(255)   NOT NULL,
+        rejection_reason varchar(255),
+        credit_score     integer,
+        CONSTRAINT loans_pk PRIMARY KEY (id, created_at),
+        CONSTRAINT fk_loans_customer FOREIGN KEY (customer_id) REFERENCES customer_profiles (id),
+        CONSTRAINT loans_status_check CHECK (status IN ('PENDING', 'APPROVED', 'REJECTED'))
+    ) PARTITION BY RANGE (created_at);
+
+    part_month := date_trunc('month', now())::date;
+    IF legacy THEN
+        part_month := LEAST(part_month,
+            date_trunc('month', (SELECT min(created_at) FROM loans_unpartitioned))::date);
+    END IF;
+    WHILE part_month <= date_trunc('month', now())::date + 3 * interval '1 month' LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF loans FOR VALUES FROM (%L) TO (%L)',
+                       'loans_p' || to_char(part_month, 'YYYY_MM'), part_month,
+                       (part_month + interval '1 month')::date);
+        part_month := (part_month + interval '1 month')::date;
+    END LOOP;
+    CREATE TABLE IF NOT EXISTS loans_default PARTITION OF loans DEFAULT;
+
+    IF legacy THEN
+        INSERT INTO loans (id, created_at, updated_at, deleted_at, customer_id, amount, tenor_months,
+                           interest_rate, status, rejection_reason, credit_score)
+        SELECT id, created_at, updated_at, deleted_at, customer_id, amount, tenor_months,
+               interest_rate, status, rejection_reason, credit_score
+        FROM loans_unpartitioned;
+        DROP TABLE loans_unpartitioned;
+    END IF;
+END
+$$;
+
+-- At most one PENDING loan per customer. A unique index on a partitioned table must include
+-- the partition key, so the guarantee lives in a guard table kept in sync by a trigger; its
+-- primary key carries the name PendingLoanGuard looks for.
+CREATE TABLE IF NOT EXISTS loan_pending_guard (
+    customer_id uuid NOT NULL,
+    loan_id     uuid NOT NULL,
+    CONSTRAINT uk_loans_customer_pending PRIMARY KEY (customer_id)
+);
+
+CREATE OR REPLACE FUNCTION loans_sync_pending_guard() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP <> 'INSERT' THEN
+        IF OLD.status = 'PENDING' AND OLD.deleted_at IS NULL THEN
+            DELETE FROM loan_pending_guard WHERE customer_id = OLD.customer_id AND loan_id = OLD.id;
+        END IF;
+    END IF;
+    IF TG_OP <> 'DELETE' THEN
+        IF NEW.status = 'PENDING' AND NEW.deleted_at IS NULL THEN
+            INSERT INTO loan_pending_guard (customer_id, loan_id) VALUES (NEW.customer_id, NEW.id);
+        END IF;
+    END IF;
+    RETURN NULL;
+END
+$$;
+
+DROP TRIGGER IF EXISTS trg_loans_pending_guard ON loans;
+CREATE TRIGGER trg_loans_pending_guard
+    AFTER INSERT OR UPDATE OF status, deleted_at OR DELETE ON loans
+    FOR EACH ROW EXECUTE FUNCTION loans_sync_pending_guard();
+
+INSERT INTO loan_pending_guard (customer_id, loan_id)
+SELECT customer_id, id FROM loans WHERE status = 'PENDING' AND deleted_at IS NULL
+ON CONFLICT DO NOTHING;
+
+-- Live loans per customer and status: existsByCustomerIdAndStatus, findCustomerIdsWithStatus,
+-- the applicant pre-check and findResponsesByUserId
+CREATE INDEX IF NOT EXISTS idx_loans_customer_status_active
+    ON loans (customer_id, status)
+    WHERE deleted_at IS NULL;
+-- findStalePendingIds (recovery sweep)
+CREATE INDEX IF NOT EXISTS idx_loans_pending_updated_at
+    ON loans (updated_at)
+    WHERE status = 'PENDING' AND deleted_at IS NULL;
+-- Admin listing filters on status and createdAt; newest-first listings
+CREATE INDEX IF NOT EXISTS idx_loans_status_created_at
+    ON loans (status, created_at);
+CREATE INDEX IF NOT EXISTS idx_loans_created_at
+    ON loans (created_at);
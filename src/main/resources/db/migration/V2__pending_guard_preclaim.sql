@@ -0,0 +1,19 @@
+-- Let a writer claim a customer's pending slot before inserting the loan (batch applications
+-- claim with ON CONFLICT DO NOTHING to find the losers). The trigger then finds the row for
+-- this very loan and leaves it; any other loan for the customer still hits the primary key.
+CREATE OR REPLACE FUNCTION loans_sync_pending_guard() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP <> 'INSERT' THEN
+        IF OLD.status = 'PENDING' AND OLD.deleted_at IS NULL THEN
+            DELETE FROM loan_pending_guard WHERE customer_id = OLD.customer_id AND loan_id = OLD.id;
+        END IF;
+    END IF;
+    IF TG_OP <> 'DELETE' THEN
+        IF NEW.status = 'PENDING' AND NEW.deleted_at IS NULL AND NOT EXISTS (
+                SELECT 1 FROM loan_pending_guard WHERE customer_id = NEW.customer_id AND loan_id = NEW.id) THEN
+            INSERT INTO loan_pending_guard (customer_id, loan_id) VALUES (NEW.customer_id, NEW.id);
+        END IF;
+    END IF;
+    RETURN NULL;
+END
+$$;
@@ -0,0 +1,5 @@
+-- When the credit decision approved the loan; repayment schedules fall due from this date.
+-- Loans approved before the column existed take their last update, which was the approval.
+ALTER TABLE loans ADD COLUMN IF NOT EXISTS approved_at timestamp(6);
+
+UPDATE loans SET approved_at = updated_at WHERE status = 'APPROVED' AND approved_at IS NULL;
@@ -0,0 +1,3 @@
+-- Cursor pages over customers seek on (created_at, id), the default sort key
+CREATE INDEX IF NOT EXISTS idx_customer_profiles_created_at_id
+    ON customer_profiles (created_at, id);
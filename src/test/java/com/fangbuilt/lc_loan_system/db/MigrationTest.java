@@ -0,0 +1,129 @@
+package com.fangbuilt.lc_loan_system.db;
+
+import com.fangbuilt.lc_loan_system.support.PostgresTestDatabase;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the Flyway migrations against a real PostgreSQL, both on an empty database and over
+ * a schema built by the former ddl-auto=update, so a broken script fails the build instead
+ * of the next deployment.
+ */
+class MigrationTest {
+
+    private static final String CUSTOMER_ALICE = "00000000-0000-4000-8000-000000000011";
+
+    @Test
+    void migratesEmptyDatabase() {
+        DataSource dataSource = PostgresTestDatabase.migrated();
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+        assertThat(relkind(jdbc, "loans")).isEqualTo("p");
+        assertThat(partitionsOfLoans(jdbc)).contains("loans_default", partitionName(YearMonth.now()),
+                partitionName(YearMonth.now().plusMonths(3)));
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM pg_extension WHERE extname = 'pg_trgm'", Integer.class))
+                .isEqualTo(1);
+        assertThat(jdbc.queryForList("SELECT success FROM flyway_schema_history", Boolean.class))
+                .isNotEmpty()
+                .allMatch(Boolean.TRUE::equals);
+    }
+
+    @Test
+    void upgradesLegacyDdlAutoSchemaInPlace() throws Exception {
+        DataSource dataSource = PostgresTestDatabase.create();
+        try (Connection connection = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/legacy-ddl-auto-schema.sql"));
+        }
+        PostgresTestDatabase.migrate(dataSource);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+        assertThat(relkind(jdbc, "loans")).isEqualTo("p");
+        assertThat(relkind(jdbc, "loans_unpartitioned")).isNull();
+        // Every legacy row was copied, each into its own monthly partition (none left in the default)
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM loans", Integer.class)).isEqualTo(3);
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM loans_default", Integer.class)).isZero();
+        assertThat(jdbc.queryForObject(
+                "SELECT tableoid::regclass::text FROM loans WHERE id = '00000000-0000-4000-8000-000000000021'",
+                String.class)).isEqualTo(partitionName(YearMonth.now().minusYears(2)));
+        // The pending loan was carried into the guard table
+        assertThat(jdbc.queryForList("SELECT customer_id::text FROM loan_pending_guard", String.class))
+                .containsExactly(CUSTOMER_ALICE);
+        // Approved loans take their last update as the approval date
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM loans WHERE status = 'APPROVED' "
+                + "AND approved_at = updated_at", Integer.class)).isEqualTo(2);
+    }
+
+    @Test
+    void guardTableAllowsOnePendingLoanPerCustomer() throws Exception {
+        DataSource dataSource = PostgresTestDatabase.create();
+        try (Connection connection = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/legacy-ddl-auto-schema.sql"));
+        }
+        PostgresTestDatabase.migrate(dataSource);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+        assertThatThrownBy(() -> insertPendingLoan(jdbc, UUID.randomUUID()))
+                .isInstanceOf(DuplicateKeyException.class)
+                .hasMessageContaining("uk_loans_customer_pending");
+
+        // Once the pending loan is decided the customer may apply again
+        jdbc.update("UPDATE loans SET status = 'REJECTED' WHERE id = '00000000-0000-4000-8000-000000000023'");
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM loan_pending_guard", Integer.class)).isZero();
+        UUID next = UUID.randomUUID();
+        insertPendingLoan(jdbc, next);
+
+        // A soft delete frees the slot as well
+        jdbc.update("UPDATE loans SET deleted_at = now() WHERE id = ?", next);
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM loan_pending_guard", Integer.class)).isZero();
+    }
+
+    @Test
+    void preClaimedGuardRowAdmitsOnlyItsOwnLoan() {
+        JdbcTemplate jdbc = new JdbcTemplate(PostgresTestDatabase.migrated());
+        jdbc.execute("INSERT INTO users (id, username, password, role, enabled, created_at, updated_at) VALUES "
+                + "('00000000-0000-4000-8000-000000000001', 'alice', 'x', 'CUSTOMER', true, now(), now())");
+        jdbc.execute("INSERT INTO customer_profiles (id, user_id, name, email, monthly_income, created_at, updated_at) "
+                + "VALUES ('" + CUSTOMER_ALICE + "', '00000000-0000-4000-8000-000000000001', 'Alice', "
+                + "'alice@example.com', 10000000, now(), now())");
+        UUID claimed = UUID.randomUUID();
+        jdbc.update("INSERT INTO loan_pending_guard (customer_id, loan_id) VALUES ('" + CUSTOMER_ALICE + "', ?)", claimed);
+
+        assertThatThrownBy(() -> insertPendingLoan(jdbc, UUID.randomUUID()))
+                .isInstanceOf(DuplicateKeyException.class)
+                .hasMessageContaining("uk_loans_customer_pending");
+        insertPendingLoan(jdbc, claimed);
+        assertThat(jdbc.queryForObject("SELECT loan_id FROM loan_pending_guard", UUID.class)).isEqualTo(claimed);
+    }
+
+    private static void insertPendingLoan(JdbcTemplate jdbc, UUID id) {
+        jdbc.update("INSERT INTO loans (id, customer_id, amount, tenor_months, interest_rate, status, created_at, "
+                + "updated_at) VALUES (?, '" + CUSTOMER_ALICE + "', 1000000, 3, 0, 'PENDING', now(), now())", id);
+    }
+
+    private static String relkind(JdbcTemplate jdbc, String table) {
+        return jdbc.queryForObject("SELECT (SELECT relkind::text FROM pg_class WHERE oid = to_regclass(?))",
+                String.class, table);
+    }
+
+    private static List<String> partitionsOfLoans(JdbcTemplate jdbc) {
+        return jdbc.queryForList("SELECT inhrelid::regclass::text FROM pg_inherits "
+                + "WHERE inhparent = 'loans'::regclass", String.class);
+    }
+
+    private static String partitionName(YearMonth month) {
+        return "loans_p" + month.format(DateTimeFormatter.ofPattern("uuuu_MM"));
+    }
+}
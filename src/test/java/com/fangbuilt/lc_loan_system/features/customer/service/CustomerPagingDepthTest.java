@@ -0,0 +1,131 @@
+package com.fangbuilt.lc_loan_system.features.customer.service;
+
+import com.fangbuilt.lc_loan_system.features.customer.domain.CustomerProfile;
+import com.fangbuilt.lc_loan_system.features.customer.repository.CustomerSearchRepository;
+import com.fangbuilt.lc_loan_system.security.jwt.PrincipalCache;
+import com.fangbuilt.lc_loan_system.shared.domain.BaseEntity;
+import com.fangbuilt.lc_loan_system.shared.domain.PageCursor;
+import com.fangbuilt.lc_loan_system.shared.domain.PageRequest;
+import com.fangbuilt.lc_loan_system.shared.domain.PageResponse;
+import com.fangbuilt.lc_loan_system.shared.repository.SoftDeleteExecutor;
+import com.fangbuilt.lc_loan_system.shared.service.FileStorageService;
+import com.fangbuilt.lc_loan_system.support.PostgresJpaTest;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Page 1 against page 10,000 on a 200,020-row table, in both pagination modes. An offset page
+ * has to walk past every row before it, so its cost grows with depth; a cursor page seeks
+ * straight to its position and costs the same as the first page.
+ */
+@Slf4j
+@PostgresJpaTest
+@Import({CustomerService.class, CustomerSearchRepository.class, SoftDeleteExecutor.class})
+class CustomerPagingDepthTest {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int DEEP_PAGE = 10_000;
+    private static final int ROWS = DEEP_PAGE * PAGE_SIZE + PAGE_SIZE;
+    private static final int RUNS = 25;
+
+    @Autowired
+    private CustomerService customerService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @MockitoBean
+    private FileStorageService fileStorageService;
+    @MockitoBean
+    private PrincipalCache principalCache;
+
+    @Test
+    void cursorPagesCostTheSameAtAnyDepthWhileOffsetPagesDoNot() {
+        seed();
+
+        // The cursor a client holds after reading pages 1..9,999, rebuilt from the row that ends page 9,999
+        Object[] lastOfPreviousPage = jdbcTemplate.queryForObject(
+                "SELECT created_at, id FROM customer_profiles ORDER BY created_at DESC, id DESC OFFSET ? LIMIT 1",
+                (rs, n) -> new Object[] {rs.getObject(1, LocalDateTime.class), rs.getObject(2, UUID.class)},
+                (DEEP_PAGE - 1) * PAGE_SIZE - 1);
+        String deepCursor = PageCursor.of("createdAt", lastOfPreviousPage[0], (UUID) lastOfPreviousPage[1]).encode();
+
+        PageRequest offsetFirst = offset(1);
+        PageRequest offsetDeep = offset(DEEP_PAGE);
+        PageRequest cursorFirst = cursor(null);
+        PageRequest cursorDeep = cursor(deepCursor);
+
+        // Both modes land on the same rows at depth
+        assertThat(ids(customerService.findPage(cursorDeep))).isEqualTo(ids(customerService.findPage(offsetDeep)));
+
+        long offsetFirstNanos = median(() -> customerService.findPage(offsetFirst));
+        long offsetDeepNanos = median(() -> customerService.findPage(offsetDeep));
+        long cursorFirstNanos = median(() -> customerService.findPage(cursorFirst));
+        long cursorDeepNanos = median(() -> customerService.findPage(cursorDeep));
+        log.info("Median page time over {} rows: offset page 1 {} us, page {} {} us; cursor page 1 {} us, page {} {} us",
+                ROWS, offsetFirstNanos / 1000, DEEP_PAGE, offsetDeepNanos / 1000,
+                cursorFirstNanos / 1000, DEEP_PAGE, cursorDeepNanos / 1000);
+
+        // Each call also pays a fixed few round trips (transaction setup, commit), so the ratios are
+        // smaller than the query plans alone would give; the margins are about half the measured ones
+        assertThat(offsetDeepNanos).isGreaterThan(2 * offsetFirstNanos);
+        assertThat(cursorDeepNanos).isLessThan(2 * cursorFirstNanos);
+        assertThat(offsetDeepNanos).isGreaterThan(3 * cursorDeepNanos);
+    }
+
+    private void seed() {
+        jdbcTemplate.update("INSERT INTO users (id, username, password, role, enabled, created_at, updated_at) "
+                + "SELECT lpad(to_hex(g), 32, '0')::uuid, 'user' || g, 'x', 'CUSTOMER', true, now(), now() "
+                + "FROM generate_series(1, ?) g", ROWS);
+        jdbcTemplate.update("INSERT INTO customer_profiles (id, user_id, name, email, monthly_income, created_at, updated_at) "
+                + "SELECT gen_random_uuid(), lpad(to_hex(g), 32, '0')::uuid, 'Customer ' || g, "
+                + "'c' || g || '@example.com', 10000000, timestamp '2026-01-01' + g * interval '1 second', now() "
+                + "FROM generate_series(1, ?) g", ROWS);
+        jdbcTemplate.execute("ANALYZE customer_profiles");
+    }
+
+    private static PageRequest offset(int page) {
+        PageRequest request = new PageRequest();
+        request.setPage(page);
+        request.setSize(PAGE_SIZE);
+        // The total is counted once and cached, so only the page query is timed
+        request.setCount(PageRequest.CountStrategy.CACHED);
+        return request;
+    }
+
+    private static PageRequest cursor(String token) {
+        PageRequest request = new PageRequest();
+        request.setSize(PAGE_SIZE);
+        request.setMode(PageRequest.Mode.CURSOR);
+        request.setCursor(token);
+        return request;
+    }
+
+    private static List<UUID> ids(PageResponse<CustomerProfile> page) {
+        return page.getData().stream().map(BaseEntity::getId).toList();
+    }
+
+    private static long median(Supplier<?> query) {
+        long[] nanos = new long[RUNS];
+        for (int i = 0; i < 3; i++) {
+            query.get();
+        }
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            query.get();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos[RUNS / 2];
+    }
+}
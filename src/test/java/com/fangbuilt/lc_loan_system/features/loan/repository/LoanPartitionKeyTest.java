@@ -0,0 +1,129 @@
+package com.fangbuilt.lc_loan_system.features.loan.repository;
+
+import com.fangbuilt.lc_loan_system.features.customer.domain.CustomerProfile;
+import com.fangbuilt.lc_loan_system.features.loan.domain.Loan;
+import com.fangbuilt.lc_loan_system.security.jwt.PrincipalCache;
+import com.fangbuilt.lc_loan_system.shared.domain.UuidV7;
+import com.fangbuilt.lc_loan_system.support.PostgresJpaTest;
+import jakarta.persistence.EntityManager;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Single-row writes to the partitioned loans table carry created_at, so Postgres touches one
+ * partition (or none older than the id) instead of probing every partition's id index.
+ */
+@PostgresJpaTest
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.fangbuilt.lc_loan_system.features.loan.repository.LoanPartitionKeyTest$CapturingInspector")
+class LoanPartitionKeyTest {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private LoanRepository repository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @MockitoBean
+    private PrincipalCache principalCache;
+
+    private TransactionTemplate transaction;
+    private UUID customerId;
+
+    @BeforeEach
+    void seedCustomer() {
+        jdbcTemplate.update("DELETE FROM loan_pending_guard");
+        jdbcTemplate.update("DELETE FROM loans");
+        jdbcTemplate.update("DELETE FROM customer_profiles");
+        jdbcTemplate.update("DELETE FROM users");
+
+        UUID userId = UUID.randomUUID();
+        customerId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, username, password, role, enabled, created_at, updated_at) "
+                + "VALUES (?, 'alice', 'x', 'CUSTOMER', true, now(), now())", userId);
+        jdbcTemplate.update("INSERT INTO customer_profiles (id, user_id, name, email, monthly_income, created_at, updated_at) "
+                + "VALUES (?, ?, 'alice', 'alice@example.com', 10000000, now(), now())", customerId, userId);
+        transaction = new TransactionTemplate(transactionManager);
+        STATEMENTS.clear();
+    }
+
+    @Test
+    void decisionUpdateIsKeyedByIdAndCreatedAt() {
+        UUID loanId = insertPendingLoan();
+
+        transaction.executeWithoutResult(status -> repository.findPendingForUpdate(loanId).orElseThrow()
+                .approve(new BigDecimal("10.00"), 720));
+
+        assertThat(loanUpdates()).singleElement().asString().contains("id=?").contains("created_at=?");
+        assertThat(jdbcTemplate.queryForObject("SELECT status FROM loans WHERE id = ?", String.class, loanId))
+                .isEqualTo("APPROVED");
+    }
+
+    @Test
+    void updateInTheTransactionThatCreatedTheLoanMatchesItsRow() {
+        UUID loanId = transaction.execute(status -> {
+            Loan loan = new Loan();
+            loan.setCustomer(entityManager.getReference(CustomerProfile.class, customerId));
+            loan.setAmount(new BigDecimal("1000000.00"));
+            loan.setTenorMonths(12);
+            loan.setInterestRate(new BigDecimal("10.00"));
+            repository.saveAndFlush(loan);
+            loan.reject("Credit score too low", 400);
+            return loan.getId();
+        });
+
+        assertThat(loanUpdates()).singleElement().asString().contains("created_at=?");
+        assertThat(jdbcTemplate.queryForObject("SELECT status FROM loans WHERE id = ?", String.class, loanId))
+                .isEqualTo("REJECTED");
+    }
+
+    @Test
+    void softDeleteIsBoundedByTheId() {
+        UUID loanId = insertPendingLoan();
+
+        transaction.executeWithoutResult(status -> repository.softDelete(loanId, LocalDateTime.now()));
+
+        assertThat(loanUpdates()).singleElement().asString().contains("created_at>=?");
+        assertThat(jdbcTemplate.queryForObject("SELECT deleted_at IS NOT NULL FROM loans WHERE id = ?",
+                Boolean.class, loanId)).isTrue();
+    }
+
+    private UUID insertPendingLoan() {
+        UUID id = UuidV7.generate();
+        jdbcTemplate.update("INSERT INTO loans (id, created_at, updated_at, customer_id, amount, tenor_months, "
+                + "interest_rate, status) VALUES (?, now(), now(), ?, 1000000, 12, 10.00, 'PENDING')", id, customerId);
+        return id;
+    }
+
+    private List<String> loanUpdates() {
+        return STATEMENTS.stream().filter(sql -> sql.startsWith("update loans")).toList();
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.fangbuilt.lc_loan_system.features.loan.rule;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chain evaluation cost, including the per-rule timers, for a passing application,
+ * an early and a late short-circuit, and the request-time stage alone.
+ * The pending-loan flag is preloaded, as on the request path, so no rule touches the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EligibilityRuleEngineBenchmark {
+
+    private EligibilityRuleEngine engine;
+    private LoanApplicationContext eligible;
+    private LoanApplicationContext missingDocuments;
+    private LoanApplicationContext lowScore;
+
+    @Setup
+    public void setUp() {
+        engine = new EligibilityRuleEngine(List.of(
+                new CreditScoreRule(),
+                new NoPendingLoanRule(null),
+                new DebtToIncomeRule(),
+                new DocumentsRule()), new SimpleMeterRegistry());
+
+        eligible = LoanApplicationContext.builder()
+                .customerId(UUID.randomUUID())
+                .monthlyIncome(new BigDecimal("15000000.00"))
+                .ktpUploaded(true)
+                .salarySlipUploaded(true)
+                .amount(new BigDecimal("50000000.00"))
+                .tenorMonths(24)
+                .pendingLoanExists(false)
+                .creditScore(720)
+                .build();
+        missingDocuments = eligible.toBuilder().ktpUploaded(false).build();
+        lowScore = eligible.toBuilder().creditScore(540).build();
+    }
+
+    @Benchmark
+    public EligibilityResult fullChainPasses() {
+        return engine.evaluate(eligible);
+    }
+
+    @Benchmark
+    public EligibilityResult failsOnFirstRule() {
+        return engine.evaluate(missingDocuments);
+    }
+
+    @Benchmark
+    public EligibilityResult failsOnLastRule() {
+        return engine.evaluate(lowScore);
+    }
+
+    @Benchmark
+    public EligibilityResult requestStageOnly() {
+        return engine.evaluate(eligible, RuleCost.IN_MEMORY, RuleCost.DATABASE);
+    }
+}
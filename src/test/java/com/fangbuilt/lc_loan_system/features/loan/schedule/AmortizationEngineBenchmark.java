@@ -0,0 +1,43 @@
+package com.fangbuilt.lc_loan_system.features.loan.schedule;
+
+import com.fangbuilt.lc_loan_system.features.loan.domain.AmortizationMethod;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schedules per second for long tenors. Run with {@code -prof gc} to read the allocation per
+ * schedule ({@code gc.alloc.rate.norm}), which should be the four result arrays and nothing else.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AmortizationEngineBenchmark {
+
+    @Param({"360"})
+    public int months;
+
+    private final AmortizationEngine engine = new AmortizationEngine();
+
+    @Benchmark
+    public AmortizationSchedule annuity() {
+        return engine.generate(250_000_000L, 2450, months, AmortizationMethod.ANNUITY);
+    }
+
+    @Benchmark
+    public AmortizationSchedule flat() {
+        return engine.generate(250_000_000L, 2450, months, AmortizationMethod.FLAT);
+    }
+}
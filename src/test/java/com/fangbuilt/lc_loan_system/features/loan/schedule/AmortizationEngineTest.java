@@ -0,0 +1,120 @@
+package com.fangbuilt.lc_loan_system.features.loan.schedule;
+
+import com.fangbuilt.lc_loan_system.features.loan.domain.AmortizationMethod;
+import com.fangbuilt.lc_loan_system.shared.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AmortizationEngineTest {
+
+    private final AmortizationEngine engine = new AmortizationEngine();
+
+    @ParameterizedTest
+    @CsvSource({
+            "ANNUITY, 1000000, 1000, 12",
+            "ANNUITY, 1000001, 1999, 7",
+            "ANNUITY, 250000000, 2450, 360",
+            "ANNUITY, 99, 3600, 360",
+            "FLAT, 1000000, 1000, 12",
+            "FLAT, 1000001, 1999, 7",
+            "FLAT, 250000000, 2450, 360"
+    })
+    void principalRepaidEqualsTheLoanAmount(AmortizationMethod method, long principal, long rateBp, int months) {
+        AmortizationSchedule schedule = engine.generate(principal, rateBp, months, method);
+
+        assertThat(schedule.installments()).isEqualTo(months);
+        assertThat(Arrays.stream(schedule.principal()).sum()).isEqualTo(principal);
+        assertThat(schedule.totalPayment()).isEqualTo(principal + schedule.totalInterest());
+        assertThat(schedule.balance()[months - 1]).isZero();
+        for (int m = 0; m < months; m++) {
+            assertThat(schedule.payment()[m]).isEqualTo(schedule.principal()[m] + schedule.interest()[m]);
+            assertThat(schedule.principal()[m]).isNotNegative();
+        }
+    }
+
+    @Test
+    void annuityPaymentMatchesTheClosedForm() {
+        // 100,000.00 at 6% over 30 years: 599.5505... per month
+        AmortizationSchedule schedule = engine.generate(10_000_000, 600, 360, AmortizationMethod.ANNUITY);
+
+        assertThat(schedule.payment()[0]).isEqualTo(59_955);
+        assertThat(schedule.interest()[0]).isEqualTo(50_000);
+    }
+
+    @Test
+    void annuityPaymentAgreesWithTheDecimalReference() {
+        Random random = new Random(42);
+        int mismatches = 0;
+        for (int i = 0; i < 20_000; i++) {
+            long principal = 1 + random.nextLong(100_000_000_000L);
+            long rateBp = 1 + random.nextInt(5000);
+            int months = 1 + random.nextInt(360);
+
+            long expected = decimalAnnuityPayment(principal, rateBp, months);
+            long actual = engine.generate(principal, rateBp, months, AmortizationMethod.ANNUITY).payment()[0];
+
+            assertThat(Math.abs(actual - expected)).as("%d at %dbp over %d", principal, rateBp, months)
+                    .isLessThanOrEqualTo(1);
+            if (actual != expected) {
+                mismatches++;
+            }
+        }
+        // Off by one only when the exact value is a few ulps from a half
+        assertThat(mismatches).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void lastAnnuityInstallmentAbsorbsTheRoundingResidual() {
+        AmortizationSchedule schedule = engine.generate(1_000_000, 1000, 12, AmortizationMethod.ANNUITY);
+        long level = schedule.payment()[0];
+
+        for (int m = 0; m < 11; m++) {
+            assertThat(schedule.payment()[m]).isEqualTo(level);
+        }
+        // Each month rounds by at most half a minor unit, so the residual stays within the tenor
+        assertThat(Math.abs(schedule.payment()[11] - level)).isLessThanOrEqualTo(12);
+        assertThat(schedule.principal()[11]).isEqualTo(schedule.balance()[10]);
+    }
+
+    @Test
+    void zeroRateSplitsThePrincipalEvenly() {
+        AmortizationSchedule schedule = engine.generate(1_000_000, 0, 3, AmortizationMethod.ANNUITY);
+
+        assertThat(schedule.totalInterest()).isZero();
+        assertThat(schedule.payment()).containsExactly(333_334, 333_334, 333_332);
+    }
+
+    @Test
+    void singleMonthRepaysEverythingAtOnce() {
+        AmortizationSchedule schedule = engine.generate(1_000_000, 1200, 1, AmortizationMethod.ANNUITY);
+
+        assertThat(schedule.principal()).containsExactly(1_000_000);
+        assertThat(schedule.interest()).containsExactly(10_000);
+        assertThat(schedule.balance()).containsExactly(0);
+    }
+
+    @Test
+    void rejectsNonPositiveTenor() {
+        assertThatThrownBy(() -> engine.generate(1_000_000, 1000, 0, AmortizationMethod.ANNUITY))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private static long decimalAnnuityPayment(long principal, long rateBp, int months) {
+        MathContext context = MathContext.DECIMAL128;
+        BigDecimal rate = BigDecimal.valueOf(rateBp).divide(BigDecimal.valueOf(120_000), context);
+        BigDecimal growth = BigDecimal.ONE.add(rate).pow(months, context);
+        return BigDecimal.valueOf(principal).multiply(rate, context).multiply(growth, context)
+                .divide(growth.subtract(BigDecimal.ONE), context)
+                .setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+}
@@ -0,0 +1,171 @@
+package com.fangbuilt.lc_loan_system.features.loan.service;
+
+import com.fangbuilt.lc_loan_system.features.customer.repository.CustomerSearchRepository;
+import com.fangbuilt.lc_loan_system.features.customer.service.CustomerService;
+import com.fangbuilt.lc_loan_system.features.loan.rule.CreditScoreRule;
+import com.fangbuilt.lc_loan_system.features.loan.rule.DebtToIncomeRule;
+import com.fangbuilt.lc_loan_system.features.loan.rule.DocumentsRule;
+import com.fangbuilt.lc_loan_system.features.loan.rule.EligibilityRuleEngine;
+import com.fangbuilt.lc_loan_system.features.loan.rule.NoPendingLoanRule;
+import com.fangbuilt.lc_loan_system.features.loan.schedule.AmortizationEngine;
+import com.fangbuilt.lc_loan_system.security.jwt.PrincipalCache;
+import com.fangbuilt.lc_loan_system.shared.exception.BusinessRuleViolationException;
+import com.fangbuilt.lc_loan_system.shared.repository.SoftDeleteExecutor;
+import com.fangbuilt.lc_loan_system.shared.service.FileStorageService;
+import com.fangbuilt.lc_loan_system.support.PostgresJpaTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doNothing;
+
+/**
+ * Thousands of simultaneous applications for a few hundred customers against real PostgreSQL:
+ * exactly one PENDING loan per customer survives, and every other submit fails with the
+ * pending-loan business error rather than a raw constraint violation.
+ */
+@PostgresJpaTest
+@Import({LoanService.class, CustomerService.class, CustomerSearchRepository.class, EligibilityRuleEngine.class,
+        DocumentsRule.class, DebtToIncomeRule.class, NoPendingLoanRule.class, CreditScoreRule.class,
+        PendingLoanGuard.class, AmortizationEngine.class, SoftDeleteExecutor.class})
+class LoanApplicationConcurrencyTest {
+
+    private static final int CUSTOMERS = 250;
+    private static final int SUBMITS_PER_CUSTOMER = 8;
+    private static final BigDecimal AMOUNT = new BigDecimal("5000000.00");
+
+    @Autowired
+    private LoanService loanService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @MockitoSpyBean
+    private PendingLoanGuard pendingLoanGuard;
+    @MockitoBean
+    private FileStorageService fileStorageService;
+    @MockitoBean
+    private PrincipalCache principalCache;
+
+    private List<UUID> userIds;
+
+    @BeforeEach
+    void seedCustomers() {
+        jdbcTemplate.update("DELETE FROM loan_pending_guard");
+        jdbcTemplate.update("DELETE FROM loans");
+        jdbcTemplate.update("DELETE FROM customer_profiles");
+        jdbcTemplate.update("DELETE FROM users");
+
+        userIds = new ArrayList<>();
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> customers = new ArrayList<>();
+        for (int i = 0; i < CUSTOMERS; i++) {
+            UUID userId = UUID.randomUUID();
+            userIds.add(userId);
+            users.add(new Object[] {userId, "user" + i});
+            customers.add(new Object[] {UUID.randomUUID(), userId, "Customer " + i, "c" + i + "@example.com"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, username, password, role, enabled, created_at, updated_at) "
+                + "VALUES (?, ?, 'x', 'CUSTOMER', true, now(), now())", users);
+        jdbcTemplate.batchUpdate("INSERT INTO customer_profiles (id, user_id, name, email, monthly_income, "
+                + "ktp_path, salary_slip_path, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, 10000000, 'ktp.png', 'slip.pdf', now(), now())", customers);
+    }
+
+    @Test
+    void concurrentSubmitsOnOneNodeLeaveOnePendingLoanPerCustomer() throws Exception {
+        Outcome outcome = submitConcurrently();
+
+        assertOnePendingLoanPerCustomer(outcome);
+    }
+
+    @Test
+    void concurrentSubmitsFromManyNodesAreSettledByTheDatabase() throws Exception {
+        // Every submit behaves as if it arrived on a different node: no local in-flight claim
+        doNothing().when(pendingLoanGuard).claim(any());
+        double before = databaseRejections();
+
+        Outcome outcome = submitConcurrently();
+
+        assertOnePendingLoanPerCustomer(outcome);
+        // Some losers got past the pre-check and were stopped by uk_loans_customer_pending
+        assertThat(databaseRejections() - before).isPositive();
+    }
+
+    private Outcome submitConcurrently() throws Exception {
+        List<UUID> submits = new ArrayList<>();
+        for (UUID userId : userIds) {
+            submits.addAll(Collections.nCopies(SUBMITS_PER_CUSTOMER, userId));
+        }
+        Collections.shuffle(submits);
+
+        Outcome outcome = new Outcome();
+        CountDownLatch start = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newFixedThreadPool(32)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (UUID userId : submits) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        loanService.applyLoan(userId, AMOUNT, 12);
+                        outcome.accepted.merge(userId, 1, Integer::sum);
+                    } catch (BusinessRuleViolationException e) {
+                        assertThat(e).hasMessage(PendingLoanGuard.PENDING_LOAN_MESSAGE);
+                        outcome.rejected.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        outcome.unexpected.add(e);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        return outcome;
+    }
+
+    private void assertOnePendingLoanPerCustomer(Outcome outcome) {
+        assertThat(outcome.unexpected).isEmpty();
+        assertThat(outcome.accepted).hasSize(CUSTOMERS).allSatisfy((userId, count) -> assertThat(count).isOne());
+        assertThat(outcome.rejected.get()).isEqualTo(CUSTOMERS * (SUBMITS_PER_CUSTOMER - 1));
+
+        List<Integer> pendingPerCustomer = jdbcTemplate.queryForList(
+                "SELECT count(*)::int FROM loans WHERE status = 'PENDING' AND deleted_at IS NULL "
+                        + "GROUP BY customer_id", Integer.class);
+        assertThat(pendingPerCustomer).hasSize(CUSTOMERS).containsOnly(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM loan_pending_guard", Long.class))
+                .isEqualTo(CUSTOMERS);
+    }
+
+    private double databaseRejections() {
+        return meterRegistry.counter("loan.apply.duplicate", "source", "database").count();
+    }
+
+    private static final class Outcome {
+        final Map<UUID, Integer> accepted = new ConcurrentHashMap<>();
+        final AtomicInteger rejected = new AtomicInteger();
+        final List<RuntimeException> unexpected = Collections.synchronizedList(new ArrayList<>());
+    }
+}
@@ -0,0 +1,154 @@
+package com.fangbuilt.lc_loan_system.features.loan.service;
+
+import com.fangbuilt.lc_loan_system.features.loan.config.LoanDecisionProperties;
+import com.fangbuilt.lc_loan_system.features.loan.domain.Loan;
+import com.fangbuilt.lc_loan_system.features.loan.domain.LoanStatus;
+import com.fangbuilt.lc_loan_system.features.loan.repository.LoanRepository;
+import com.fangbuilt.lc_loan_system.features.loan.rule.EligibilityResult;
+import com.fangbuilt.lc_loan_system.features.loan.rule.EligibilityRuleEngine;
+import com.fangbuilt.lc_loan_system.features.loan.rule.RuleCost;
+import com.fangbuilt.lc_loan_system.shared.service.CreditScoreService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LoanDecisionWorkerTest {
+
+    private static final UUID CUSTOMER_ID = UUID.randomUUID();
+
+    private final LoanRepository repository = mock(LoanRepository.class);
+    private final CreditScoreService creditScoreService = mock(CreditScoreService.class);
+    private final EligibilityRuleEngine ruleEngine = mock(EligibilityRuleEngine.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final LoanDecisionProperties properties = new LoanDecisionProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private LoanDecisionWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        properties.setQueueCapacity(1);
+        properties.setMaxConcurrency(1);
+        properties.setShutdownTimeout(Duration.ofSeconds(1));
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(ruleEngine.evaluate(any(), eq(RuleCost.REMOTE), eq(RuleCost.REMOTE)))
+                .thenReturn(EligibilityResult.passed());
+
+        worker = new LoanDecisionWorker(repository, mock(LoanService.class), creditScoreService, ruleEngine,
+                transactionManager, properties, meterRegistry);
+        worker.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        worker.stop();
+    }
+
+    @Test
+    void fullQueueRejectsTheSubmitAndLeavesTheLoanPending() throws Exception {
+        CountDownLatch bureauEntered = new CountDownLatch(1);
+        CountDownLatch releaseBureau = new CountDownLatch(1);
+        when(creditScoreService.getCreditScore(anyString())).thenAnswer(invocation -> {
+            bureauEntered.countDown();
+            releaseBureau.await(5, TimeUnit.SECONDS);
+            return 750;
+        });
+
+        Loan running = pendingLoan();
+        Loan waitingForPermit = pendingLoan();
+        Loan queued = pendingLoan();
+        Loan overflow = pendingLoan();
+
+        // One decision holds the only permit, the dispatcher holds the next id, the queue holds the third
+        assertThat(worker.submit(running.getId())).isTrue();
+        assertThat(bureauEntered.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(worker.submit(waitingForPermit.getId())).isTrue();
+        await().atMost(Duration.ofSeconds(5)).until(() -> queueDepth() == 0);
+        assertThat(worker.submit(queued.getId())).isTrue();
+
+        assertThat(worker.submit(overflow.getId())).isFalse();
+        assertThat(meterRegistry.counter("loan.decision.rejected").count()).isEqualTo(1.0);
+
+        releaseBureau.countDown();
+        await().atMost(Duration.ofSeconds(5)).until(() -> queued.getStatus() == LoanStatus.APPROVED);
+        assertThat(running.getStatus()).isEqualTo(LoanStatus.APPROVED);
+        assertThat(waitingForPermit.getStatus()).isEqualTo(LoanStatus.APPROVED);
+        assertThat(overflow.getStatus()).isEqualTo(LoanStatus.PENDING);
+        verify(repository, never()).findPendingCustomerId(overflow.getId());
+    }
+
+    @Test
+    void recoverySweepDecidesALoanThatWasNeverQueued() {
+        when(creditScoreService.getCreditScore(anyString())).thenReturn(750);
+        Loan orphan = pendingLoan();
+        when(repository.findStalePendingIds(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(orphan.getId()));
+
+        worker.recoverStalePendingLoans();
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> orphan.getStatus() == LoanStatus.APPROVED);
+        verify(repository, timeout(1000)).save(orphan);
+        assertThat(meterRegistry.counter("loan.decision.recovered").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void recoverySweepSkipsLoansAlreadyInFlight() throws Exception {
+        CountDownLatch releaseBureau = new CountDownLatch(1);
+        when(creditScoreService.getCreditScore(anyString())).thenAnswer(invocation -> {
+            releaseBureau.await(5, TimeUnit.SECONDS);
+            return 750;
+        });
+        Loan loan = pendingLoan();
+        when(repository.findStalePendingIds(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(loan.getId()));
+
+        worker.submit(loan.getId());
+        worker.recoverStalePendingLoans();
+        releaseBureau.countDown();
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> loan.getStatus() == LoanStatus.APPROVED);
+        assertThat(meterRegistry.counter("loan.decision.recovered").count()).isZero();
+        verify(repository, timeout(1000).times(1)).findPendingForUpdate(loan.getId());
+    }
+
+    private double queueDepth() {
+        return meterRegistry.get("loan.decision.queue.depth").gauge().value();
+    }
+
+    private Loan pendingLoan() {
+        Loan loan = new Loan();
+        loan.setId(UUID.randomUUID());
+        loan.setAmount(new BigDecimal("10000000.00"));
+        loan.setTenorMonths(12);
+        loan.setInterestRate(BigDecimal.ZERO);
+        loan.setStatus(LoanStatus.PENDING);
+        when(repository.findPendingCustomerId(loan.getId())).thenAnswer(invocation ->
+                loan.isPending() ? Optional.of(CUSTOMER_ID) : Optional.empty());
+        when(repository.findPendingForUpdate(loan.getId())).thenAnswer(invocation ->
+                loan.isPending() ? Optional.of(loan) : Optional.empty());
+        return loan;
+    }
+}
@@ -0,0 +1,113 @@
+package com.fangbuilt.lc_loan_system.features.loan.service;
+
+import com.fangbuilt.lc_loan_system.support.PostgresTestDatabase;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.Test;
+import org.postgresql.ds.PGSimpleDataSource;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import javax.sql.DataSource;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exports a table far larger than the heap it runs in. The export happens in a child JVM
+ * capped at {@value #CHILD_HEAP}: materialising the rows (or letting the driver buffer the
+ * whole result set) would need well over a gigabyte and die with OutOfMemoryError.
+ */
+class LoanExportServiceTest {
+
+    private static final int ROWS = 3_000_000;
+    private static final String CHILD_HEAP = "-Xmx48m";
+
+    @Test
+    void streamsMillionsOfRowsInASmallHeap() throws Exception {
+        DataSource dataSource = PostgresTestDatabase.migrated();
+        seed(new JdbcTemplate(dataSource), ROWS);
+
+        Process child = new ProcessBuilder(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                CHILD_HEAP, "-XX:+ExitOnOutOfMemoryError",
+                "-cp", System.getProperty("java.class.path"),
+                Exporter.class.getName(), ((PGSimpleDataSource) dataSource).getUrl())
+                .redirectErrorStream(true)
+                .start();
+        String output = new String(child.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+
+        assertThat(child.waitFor(5, TimeUnit.MINUTES)).isTrue();
+        assertThat(child.exitValue()).as(output).isZero();
+        List<String> lines = output.lines().toList();
+        // Records are newline separated, so the last one has no terminator
+        assertThat(lines.get(lines.size() - 1)).isEqualTo("exported " + ROWS + " lines " + (ROWS - 1));
+    }
+
+    private static void seed(JdbcTemplate jdbc, int rows) {
+        UUID user = UUID.randomUUID();
+        UUID customer = UUID.randomUUID();
+        jdbc.update("INSERT INTO users (id, username, password, role, enabled, created_at, updated_at) "
+                + "VALUES (?, 'bulk', 'x', 'CUSTOMER', true, now(), now())", user);
+        jdbc.update("INSERT INTO customer_profiles (id, user_id, name, email, monthly_income, created_at, updated_at) "
+                + "VALUES (?, ?, 'Bulk, \"Customer\"', 'bulk@example.com', 10000000, now(), now())", customer, user);
+        // Bulk load without the per-row FK check and pending-guard trigger; every row references the one customer.
+        // Sequential ids keep the primary key index append-only
+        jdbc.execute((ConnectionCallback<Void>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET session_replication_role = replica");
+                statement.execute("INSERT INTO loans (id, created_at, updated_at, customer_id, amount, tenor_months, "
+                        + "interest_rate, status, credit_score) "
+                        + "SELECT lpad(to_hex(g), 32, '0')::uuid, now() - (g % 90) * interval '1 day', now(), '" + customer + "', "
+                        + "1000000 + g, 12, 10.00, 'APPROVED', 700 FROM generate_series(1, " + rows + ") g");
+                statement.execute("SET session_replication_role = DEFAULT");
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Child JVM entry point: NDJSON-exports every loan to a line-counting sink
+     */
+    static final class Exporter {
+
+        public static void main(String[] args) throws Exception {
+            PGSimpleDataSource dataSource = new PGSimpleDataSource();
+            dataSource.setUrl(args[0]);
+            dataSource.setUser("postgres");
+            LoanExportService service = new LoanExportService(dataSource,
+                    new DataSourceTransactionManager(dataSource), JsonMapper.builder().findAndAddModules().build());
+
+            LineCounter sink = new LineCounter();
+            long exported = service.export(null, null, null, LoanExportFormat.NDJSON, sink);
+            System.out.println("exported " + exported + " lines " + sink.lines);
+        }
+    }
+
+    private static final class LineCounter extends OutputStream {
+
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.fangbuilt.lc_loan_system.features.loan.service;
+
+import com.fangbuilt.lc_loan_system.features.loan.config.LoanPartitionProperties;
+import com.fangbuilt.lc_loan_system.support.PostgresTestDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class LoanPartitionMaintenanceTest {
+
+    private static final UUID CUSTOMER = UUID.fromString("00000000-0000-4000-8000-000000000011");
+
+    private DataSource dataSource;
+    private JdbcTemplate jdbc;
+    private LoanPartitionProperties properties;
+    private LoanPartitionMaintenance maintenance;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = PostgresTestDatabase.migrated();
+        jdbc = new JdbcTemplate(dataSource);
+        properties = new LoanPartitionProperties();
+        maintenance = new LoanPartitionMaintenance(jdbc, new DataSourceTransactionManager(dataSource), properties,
+                mock(LoanService.class));
+
+        UUID user = UUID.randomUUID();
+        jdbc.update("INSERT INTO users (id, username, password, role, enabled, created_at, updated_at) "
+                + "VALUES (?, 'alice', 'x', 'CUSTOMER', true, now(), now())", user);
+        jdbc.update("INSERT INTO customer_profiles (id, user_id, name, email, monthly_income, created_at, updated_at) "
+                + "VALUES (?, ?, 'Alice', 'alice@example.com', 10000000, now(), now())", CUSTOMER, user);
+    }
+
+    @Test
+    void movesRowsOutOfDefaultPartitionIntoTheirMonth() {
+        YearMonth far = YearMonth.now().plusMonths(8);
+        UUID pending = insertLoan(far.atDay(3).atStartOfDay(), "PENDING");
+        insertLoan(far.atDay(20).atStartOfDay(), "APPROVED");
+        assertThat(count("loans_default")).isEqualTo(2);
+
+        maintenance.maintain();
+
+        assertThat(count("loans_default")).isZero();
+        assertThat(count(partitionName(far))).isEqualTo(2);
+        assertThat(count("loans")).isEqualTo(2);
+        // The pending-loan guard survived the move and is still enforced by the attached partition
+        assertThat(jdbc.queryForObject("SELECT loan_id FROM loan_pending_guard WHERE customer_id = ?",
+                UUID.class, CUSTOMER)).isEqualTo(pending);
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM pg_trigger WHERE tgrelid = ?::regclass "
+                + "AND tgname = 'trg_loans_pending_guard'", Integer.class, partitionName(far))).isEqualTo(1);
+    }
+
+    @Test
+    void createsUpcomingMonths() {
+        properties.setMonthsAhead(5);
+
+        maintenance.maintain();
+
+        assertThat(jdbc.queryForObject("SELECT to_regclass(?)::text", String.class,
+                partitionName(YearMonth.now().plusMonths(5)))).isNotNull();
+    }
+
+    @Test
+    void archivesMonthsPastRetention() {
+        YearMonth old = YearMonth.now().minusYears(3);
+        insertLoan(old.atDay(1).atStartOfDay(), "APPROVED");
+        insertLoan(LocalDateTime.now(), "APPROVED");
+        properties.setRetention(Period.ofYears(1));
+
+        maintenance.maintain();
+
+        assertThat(count("loans")).isEqualTo(1);
+        assertThat(count("loan_archive." + partitionName(old))).isEqualTo(1);
+    }
+
+    @Test
+    void dropsMonthsPastRetentionWhenConfigured() {
+        YearMonth old = YearMonth.now().minusYears(3);
+        insertLoan(old.atDay(1).atStartOfDay(), "PENDING");
+        properties.setRetention(Period.ofYears(1));
+        properties.setRetentionAction(LoanPartitionProperties.RetentionAction.DROP);
+
+        maintenance.maintain();
+
+        assertThat(count("loans")).isZero();
+        assertThat(jdbc.queryForObject("SELECT to_regclass(?)::text", String.class, partitionName(old))).isNull();
+        assertThat(count("loan_pending_guard")).isZero();
+    }
+
+    @Test
+    void skipsWhileAnotherInstanceHoldsTheLock() throws Exception {
+        YearMonth far = YearMonth.now().plusMonths(8);
+        insertLoan(far.atDay(3).atStartOfDay(), "APPROVED");
+
+        try (Connection otherInstance = dataSource.getConnection()) {
+            otherInstance.createStatement().execute("SELECT pg_advisory_lock(hashtext('loan-partition-maintenance'))");
+            maintenance.maintain();
+            assertThat(count("loans_default")).isEqualTo(1);
+        }
+
+        maintenance.maintain();
+        assertThat(count("loans_default")).isZero();
+        assertThat(count(partitionName(far))).isEqualTo(1);
+    }
+
+    private UUID insertLoan(LocalDateTime createdAt, String status) {
+        UUID id = UUID.randomUUID();
+        jdbc.update("INSERT INTO loans (id, customer_id, amount, tenor_months, interest_rate, status, created_at, "
+                + "updated_at) VALUES (?, ?, 1000000, 12, 10, ?, ?, ?)", id, CUSTOMER, status, createdAt, createdAt);
+        return id;
+    }
+
+    private int count(String table) {
+        return jdbc.queryForObject("SELECT count(*) FROM " + table, Integer.class);
+    }
+
+    private static String partitionName(YearMonth month) {
+        return "loans_p" + month.format(DateTimeFormatter.ofPattern("uuuu_MM"));
+    }
+}
@@ -0,0 +1,173 @@
+package com.fangbuilt.lc_loan_system.features.loan.service;
+
+import com.fangbuilt.lc_loan_system.features.customer.repository.CustomerSearchRepository;
+import com.fangbuilt.lc_loan_system.features.customer.service.CustomerService;
+import com.fangbuilt.lc_loan_system.features.loan.api.dto.LoanResponse;
+import com.fangbuilt.lc_loan_system.features.loan.domain.Loan;
+import com.fangbuilt.lc_loan_system.features.loan.rule.EligibilityRuleEngine;
+import com.fangbuilt.lc_loan_system.features.loan.schedule.AmortizationEngine;
+import com.fangbuilt.lc_loan_system.features.user.domain.User;
+import com.fangbuilt.lc_loan_system.security.domain.Role;
+import com.fangbuilt.lc_loan_system.security.jwt.PrincipalCache;
+import com.fangbuilt.lc_loan_system.shared.domain.UuidV7;
+import com.fangbuilt.lc_loan_system.shared.repository.SoftDeleteExecutor;
+import com.fangbuilt.lc_loan_system.shared.service.FileStorageService;
+import com.fangbuilt.lc_loan_system.support.PostgresJpaTest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statements issued by the loan list and detail reads, counted with Hibernate statistics on
+ * real PostgreSQL. Each read is one statement, however many loans it returns, and with the
+ * second-level cache cleared first so nothing is served from memory.
+ */
+@PostgresJpaTest
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({LoanService.class, CustomerService.class, CustomerSearchRepository.class, EligibilityRuleEngine.class,
+        PendingLoanGuard.class, AmortizationEngine.class, SoftDeleteExecutor.class})
+class LoanQueryCountTest {
+
+    @Autowired
+    private LoanService loanService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @MockitoBean
+    private FileStorageService fileStorageService;
+    @MockitoBean
+    private PrincipalCache principalCache;
+
+    private User customer;
+    private User admin;
+    private UUID customerId;
+
+    @BeforeEach
+    void seedUsers() {
+        jdbcTemplate.update("DELETE FROM loan_pending_guard");
+        jdbcTemplate.update("DELETE FROM loans");
+        jdbcTemplate.update("DELETE FROM customer_profiles");
+        jdbcTemplate.update("DELETE FROM users");
+
+        customer = user("alice", Role.CUSTOMER);
+        admin = user("admin", Role.ADMIN);
+        customerId = customerProfile(customer, "alice");
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 5, 50})
+    void myLoansIsOneStatementAtAnySize(int loans) {
+        insertLoans(customerId, loans);
+        signIn(customer);
+
+        List<LoanResponse> result = countingStatements(1, loanService::getMyLoans);
+
+        assertThat(result).hasSize(loans).allSatisfy(loan -> assertThat(loan.getCustomerName()).isEqualTo("alice"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 5, 50})
+    void allLoansIsOneStatementAcrossCustomers(int customers) {
+        for (int i = 0; i < customers; i++) {
+            insertLoans(customerProfile(user("user" + i, Role.CUSTOMER), "user" + i), 2);
+        }
+        signIn(admin);
+
+        List<LoanResponse> result = countingStatements(1, loanService::getAllLoans);
+
+        assertThat(result).hasSize(customers * 2);
+        assertThat(result.stream().map(LoanResponse::getCustomerId).distinct()).hasSize(customers);
+    }
+
+    @Test
+    void loanDetailIsOneStatementForItsOwnerAndForAnAdmin() {
+        UUID loanId = insertLoans(customerId, 1).get(0);
+
+        signIn(customer);
+        assertThat(countingStatements(1, () -> loanService.getLoanResponse(loanId)).getId()).isEqualTo(loanId);
+
+        signIn(admin);
+        assertThat(countingStatements(1, () -> loanService.getLoanResponse(loanId)).getId()).isEqualTo(loanId);
+    }
+
+    @Test
+    void loanEntityWithOwnershipCheckIsOneStatement() {
+        UUID loanId = insertLoans(customerId, 1).get(0);
+        signIn(customer);
+
+        Loan loan = countingStatements(1, () -> loanService.findById(loanId));
+
+        assertThat(loan.getCustomer().getName()).isEqualTo("alice");
+    }
+
+    private <T> T countingStatements(long expected, Supplier<T> read) {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.clear();
+
+        T result = read.get();
+
+        assertThat(statistics.getPrepareStatementCount()).as("statements").isEqualTo(expected);
+        return result;
+    }
+
+    private void signIn(User user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    private User user(String username, Role role) {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setUsername(username);
+        user.setPassword("x");
+        user.setRole(role);
+        jdbcTemplate.update("INSERT INTO users (id, username, password, role, enabled, created_at, updated_at) "
+                + "VALUES (?, ?, 'x', ?, true, now(), now())", user.getId(), username, role.name());
+        return user;
+    }
+
+    private UUID customerProfile(User user, String name) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO customer_profiles (id, user_id, name, email, monthly_income, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, 10000000, now(), now())", id, user.getId(), name, name + "@example.com");
+        return id;
+    }
+
+    private List<UUID> insertLoans(UUID customer, int count) {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            UUID id = UuidV7.generate();
+            jdbcTemplate.update("INSERT INTO loans (id, created_at, updated_at, customer_id, amount, tenor_months, "
+                    + "interest_rate, status) VALUES (?, now(), now(), ?, 1000000, 12, 10.00, 'APPROVED')", id, customer);
+            ids.add(id);
+        }
+        return ids;
+    }
+}
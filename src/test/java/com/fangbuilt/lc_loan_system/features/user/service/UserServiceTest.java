@@ -0,0 +1,66 @@
+package com.fangbuilt.lc_loan_system.features.user.service;
+
+import com.fangbuilt.lc_loan_system.security.jwt.PrincipalCache;
+import com.fangbuilt.lc_loan_system.support.PostgresJpaTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Soft-deleting a user on real PostgreSQL: the cached principal is dropped after the commit,
+ * not before, and the user reloads as disabled even from the second-level cache.
+ */
+@PostgresJpaTest
+@Import(UserService.class)
+class UserServiceTest {
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @MockitoBean
+    private PrincipalCache principalCache;
+    @MockitoBean
+    private PasswordEncoder passwordEncoder;
+
+    private UUID userId;
+
+    @BeforeEach
+    void seedUser() {
+        jdbcTemplate.update("DELETE FROM users WHERE username = 'alice'");
+        userId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, username, password, role, enabled, created_at, updated_at) "
+                + "VALUES (?, 'alice', 'x', 'CUSTOMER', true, now(), now())", userId);
+        // The after-commit scheduling is under test; the eviction itself stays a mock
+        doCallRealMethod().when(principalCache).invalidateAfterCommit(anyString());
+    }
+
+    @Test
+    void deleteEvictsThePrincipalOnlyOnceCommitted() {
+        assertThat(userService.loadUserByUsername("alice").isEnabled()).isTrue();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            userService.deleteUser(userId);
+            verify(principalCache, never()).invalidate(anyString());
+        });
+
+        verify(principalCache).invalidate("alice");
+        assertThat(userService.loadUserByUsername("alice").isEnabled()).isFalse();
+    }
+}
@@ -0,0 +1,202 @@
+package com.fangbuilt.lc_loan_system.shared.datasource;
+
+import com.fangbuilt.lc_loan_system.features.customer.repository.CustomerSearchRepository;
+import com.fangbuilt.lc_loan_system.features.customer.service.CustomerService;
+import com.fangbuilt.lc_loan_system.features.loan.config.LoanDecisionProperties;
+import com.fangbuilt.lc_loan_system.features.loan.rule.CreditScoreRule;
+import com.fangbuilt.lc_loan_system.features.loan.rule.EligibilityRuleEngine;
+import com.fangbuilt.lc_loan_system.features.loan.schedule.AmortizationEngine;
+import com.fangbuilt.lc_loan_system.features.loan.service.LoanDecisionWorker;
+import com.fangbuilt.lc_loan_system.features.loan.service.LoanService;
+import com.fangbuilt.lc_loan_system.features.loan.service.PendingLoanGuard;
+import com.fangbuilt.lc_loan_system.features.user.service.UserService;
+import com.fangbuilt.lc_loan_system.security.domain.Role;
+import com.fangbuilt.lc_loan_system.security.jwt.PrincipalCache;
+import com.fangbuilt.lc_loan_system.shared.config.ReplicaRoutingProperties;
+import com.fangbuilt.lc_loan_system.shared.domain.UuidV7;
+import com.fangbuilt.lc_loan_system.shared.repository.SoftDeleteExecutor;
+import com.fangbuilt.lc_loan_system.shared.service.CreditScoreService;
+import com.fangbuilt.lc_loan_system.shared.service.FileStorageService;
+import com.fangbuilt.lc_loan_system.support.PostgresTestDatabase;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.ds.PGSimpleDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Writes followed by reads with replica routing on. The "replica" is a second database with
+ * the same schema that never receives the primary's writes, i.e. a replica infinitely far
+ * behind: a read that finds a row written a moment ago can only have gone to the primary.
+ */
+@DataJpaTest(showSql = false)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ReplicaRoutingTest.Databases.class, UserService.class, LoanDecisionWorker.class, LoanService.class,
+        CustomerService.class, CustomerSearchRepository.class, EligibilityRuleEngine.class, CreditScoreRule.class,
+        PendingLoanGuard.class, AmortizationEngine.class, SoftDeleteExecutor.class, LoanDecisionProperties.class})
+class ReplicaRoutingTest {
+
+    private static final String REPLICA_URL = ((PGSimpleDataSource) PostgresTestDatabase.migrated()).getUrl();
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private LoanDecisionWorker worker;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @MockitoBean
+    private CreditScoreService creditScoreService;
+    @MockitoBean
+    private FileStorageService fileStorageService;
+    @MockitoBean
+    private PrincipalCache principalCache;
+
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void waitForReplicaInRotation() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        // The replica joins the rotation after its first lag check
+        await().atMost(Duration.ofSeconds(10)).until(() -> REPLICA_URL.endsWith("/" + readOnly.execute(status ->
+                jdbcTemplate.queryForObject("SELECT current_database()", String.class))));
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() {
+        UUID userId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, username, password, role, enabled, created_at, updated_at) "
+                + "VALUES (?, 'routing', 'x', 'CUSTOMER', true, now(), now())", userId);
+
+        String sql = "SELECT count(*) FROM users WHERE id = ?";
+        Long onReplica = readOnly.execute(status -> jdbcTemplate.queryForObject(sql, Long.class, userId));
+        assertThat(onReplica).isZero();
+        assertThat(jdbcTemplate.queryForObject(sql, Long.class, userId)).isOne();
+    }
+
+    @Test
+    void userIsFoundRightAfterRegistering() {
+        userService.createUser("fresh", "secret", Role.CUSTOMER);
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+
+        assertThat(userService.loadUserByUsername("fresh").getUsername()).isEqualTo("fresh");
+    }
+
+    @Test
+    void workerDecidesALoanCommittedAMomentAgo() {
+        when(creditScoreService.getCreditScore(anyString())).thenReturn(750);
+        UUID loanId = insertPendingLoan(LocalDateTime.now());
+
+        assertThat(worker.submit(loanId)).isTrue();
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> "APPROVED".equals(statusOf(loanId)));
+    }
+
+    @Test
+    void recoverySweepFindsStaleLoansOnThePrimary() {
+        when(creditScoreService.getCreditScore(anyString())).thenReturn(750);
+        UUID loanId = insertPendingLoan(LocalDateTime.now().minusHours(1));
+
+        worker.recoverStalePendingLoans();
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> "APPROVED".equals(statusOf(loanId)));
+    }
+
+    private UUID insertPendingLoan(LocalDateTime updatedAt) {
+        UUID userId = UUID.randomUUID();
+        UUID customerId = UUID.randomUUID();
+        UUID loanId = UuidV7.generate();
+        jdbcTemplate.update("INSERT INTO users (id, username, password, role, enabled, created_at, updated_at) "
+                + "VALUES (?, ?, 'x', 'CUSTOMER', true, now(), now())", userId, "user-" + userId);
+        jdbcTemplate.update("INSERT INTO customer_profiles (id, user_id, name, email, monthly_income, created_at, updated_at) "
+                + "VALUES (?, ?, 'Applicant', ?, 10000000, now(), now())", customerId, userId, userId + "@example.com");
+        jdbcTemplate.update("INSERT INTO loans (id, created_at, updated_at, customer_id, amount, tenor_months, "
+                + "interest_rate, status) VALUES (?, now(), ?, ?, 1000000, 12, 0, 'PENDING')", loanId, updatedAt, customerId);
+        return loanId;
+    }
+
+    private String statusOf(UUID loanId) {
+        return jdbcTemplate.queryForObject("SELECT status FROM loans WHERE id = ?", String.class, loanId);
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class Databases {
+
+        @Bean
+        HikariDataSource primaryDataSource() {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setDataSource(PostgresTestDatabase.create());
+            pool.setMaximumPoolSize(10);
+            return pool;
+        }
+
+        @Bean(destroyMethod = "close")
+        ReplicaDataSource replicaDataSource(HikariDataSource primaryDataSource, MeterRegistry meterRegistry) {
+            ReplicaRoutingProperties.Replica replica = new ReplicaRoutingProperties.Replica();
+            replica.setName("replica");
+            replica.setUrl(REPLICA_URL);
+            replica.setUsername("postgres");
+            ReplicaRoutingProperties properties = new ReplicaRoutingProperties();
+            properties.setEnabled(true);
+            properties.getReplicas().add(replica);
+            properties.setLagCheckInterval(Duration.ofMillis(200));
+            return new ReplicaDataSource(primaryDataSource, properties,
+                    new ReadYourWritesTracker(properties.getReadYourWritesWindow(), mock(StringRedisTemplate.class)),
+                    meterRegistry);
+        }
+
+        @Bean
+        @Primary
+        DataSource dataSource(HikariDataSource primaryDataSource, ReplicaDataSource replicaDataSource) {
+            LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+            dataSource.setReadOnlyDataSource(replicaDataSource);
+            return dataSource;
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder(4);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.fangbuilt.lc_loan_system.shared.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BaseEntityTest {
+
+    private static final class Entity extends BaseEntity {
+    }
+
+    @Test
+    void idIsDrawnOnPersistNotOnConstruction() {
+        Entity entity = new Entity();
+        assertThat(entity.getId()).isNull();
+        assertThat(entity.isNew()).isTrue();
+
+        entity.assignId();
+        entity.markNotNew();
+
+        assertThat(entity.getId().version()).isEqualTo(7);
+        assertThat(entity.isNew()).isFalse();
+    }
+
+    @Test
+    void keepsAnIdAssignedBeforePersist() {
+        UUID id = UuidV7.generate();
+        Entity entity = new Entity();
+        entity.setId(id);
+
+        entity.assignId();
+
+        assertThat(entity.getId()).isEqualTo(id);
+        assertThat(entity.isNew()).isTrue();
+    }
+}
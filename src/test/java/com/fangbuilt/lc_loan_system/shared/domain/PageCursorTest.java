@@ -0,0 +1,76 @@
+package com.fangbuilt.lc_loan_system.shared.domain;
+
+import com.fangbuilt.lc_loan_system.shared.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageCursorTest {
+
+    private static final UUID ID = UUID.fromString("0190f5a1-2b3c-7d4e-8f00-112233445566");
+
+    @Test
+    void roundTripsTemporalAndDecimalValues() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 3, 14, 15, 9, 26, 535_000_000);
+
+        PageCursor cursor = PageCursor.decode(PageCursor.of("createdAt", createdAt, ID).encode());
+
+        assertThat(cursor.sortBy()).isEqualTo("createdAt");
+        assertThat(cursor.id()).isEqualTo(ID);
+        assertThat(cursor.valueAs(LocalDateTime.class)).isEqualTo(createdAt);
+        assertThat(PageCursor.decode(PageCursor.of("amount", new BigDecimal("1500000.50"), ID).encode())
+                .valueAs(BigDecimal.class)).isEqualByComparingTo("1500000.50");
+    }
+
+    @Test
+    void tokenIsUrlSafe() {
+        String token = PageCursor.of("name", "??>>~~", ID).encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "not a cursor!",
+            "",
+            "e30",                                                  // {}
+            "bnVsbA",                                               // null
+            "WzEsMiwzXQ",                                           // [1,2,3]
+    })
+    void rejectsMalformedTokens(String token) {
+        assertThatThrownBy(() -> PageCursor.decode(token)).isInstanceOf(BadRequestException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{\"sortBy\":\"createdAt\",\"value\":\"2025-01-01T00:00:00\"}",
+            "{\"sortBy\":\"createdAt\",\"value\":\"2025-01-01T00:00:00\",\"id\":\"not-a-uuid\"}",
+            "{\"sortBy\":\"createdAt\",\"value\":null,\"id\":\"0190f5a1-2b3c-7d4e-8f00-112233445566\"}",
+            "{\"sortBy\":\"createdAt\",\"id\":\"0190f5a1-2b3c-7d4e-8f00-112233445566\"}",
+            "{\"sortBy\":\"createdAt\",\"value\":{\"a\":1},\"id\":\"0190f5a1-2b3c-7d4e-8f00-112233445566\"}",
+            "{\"value\":\"x\",\"id\":\"0190f5a1-2b3c-7d4e-8f00-112233445566\"}",
+            "{\"sortBy\":\"createdAt\",\"value\":\"x\",\"id\":\"0190f5a1-2b3c-7d4e-8f00-112233445566\",\"extra\":1}"
+    })
+    void rejectsTamperedPayloads(String json) {
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> PageCursor.decode(token)).isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void rejectsValueOfTheWrongType() {
+        PageCursor cursor = PageCursor.decode(PageCursor.of("createdAt", "yesterday", ID).encode());
+
+        assertThatThrownBy(() -> cursor.valueAs(LocalDateTime.class)).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> cursor.valueAs(BigDecimal.class)).isInstanceOf(BadRequestException.class);
+    }
+}
@@ -0,0 +1,104 @@
+package com.fangbuilt.lc_loan_system.shared.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UuidV7Test {
+
+    private static final long NOW = 1_760_000_000_000L;
+
+    @Test
+    void setsVersionAndVariantAndEncodesTheTimestamp() {
+        UUID id = new UuidV7.Generator().next(NOW);
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(UuidV7.timestampOf(id)).isEqualTo(Instant.ofEpochMilli(NOW));
+    }
+
+    @Test
+    void idsFromOneMillisecondCountUp() {
+        UuidV7.Generator generator = new UuidV7.Generator();
+
+        UUID previous = generator.next(NOW);
+        for (int i = 0; i < 100; i++) {
+            UUID next = generator.next(NOW);
+            assertThat(Long.compareUnsigned(next.getMostSignificantBits(), previous.getMostSignificantBits()))
+                    .isPositive();
+            previous = next;
+        }
+        assertThat(UuidV7.timestampOf(previous)).isEqualTo(Instant.ofEpochMilli(NOW));
+    }
+
+    @Test
+    void fullCounterCarriesIntoTheNextMillisecond() {
+        UuidV7.Generator generator = new UuidV7.Generator();
+
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 4096 + 2; i++) {
+            ids.add(generator.next(NOW));
+        }
+
+        assertStrictlyIncreasing(ids);
+        assertThat(UuidV7.timestampOf(ids.get(4095))).isEqualTo(Instant.ofEpochMilli(NOW));
+        assertThat(UuidV7.timestampOf(ids.get(4096))).isEqualTo(Instant.ofEpochMilli(NOW + 1));
+        // The real clock reaching the borrowed millisecond continues after it, not from zero
+        UUID afterClockCatchesUp = generator.next(NOW + 1);
+        assertThat(Long.compareUnsigned(afterClockCatchesUp.getMostSignificantBits(),
+                ids.get(ids.size() - 1).getMostSignificantBits())).isPositive();
+    }
+
+    @Test
+    void clockSteppingBackNeverReordersIds() {
+        UuidV7.Generator generator = new UuidV7.Generator();
+
+        UUID before = generator.next(NOW);
+        UUID after = generator.next(NOW - 5_000);
+
+        assertThat(Long.compareUnsigned(after.getMostSignificantBits(), before.getMostSignificantBits())).isPositive();
+        assertThat(UuidV7.timestampOf(after)).isEqualTo(Instant.ofEpochMilli(NOW));
+    }
+
+    @Test
+    void concurrentCallersGetDistinctIncreasingIds() {
+        UuidV7.Generator generator = new UuidV7.Generator();
+        Set<UUID> all = ConcurrentHashMap.newKeySet();
+
+        IntStream.range(0, 8).parallel().forEach(thread -> {
+            List<UUID> mine = new ArrayList<>();
+            for (int i = 0; i < 10_000; i++) {
+                mine.add(generator.next(NOW));
+            }
+            assertStrictlyIncreasing(mine);
+            all.addAll(mine);
+        });
+
+        assertThat(all).hasSize(80_000);
+        assertThat(new HashSet<>(all.stream().map(UUID::getMostSignificantBits).toList())).hasSize(80_000);
+    }
+
+    @Test
+    void timestampOfRejectsOtherVersions() {
+        assertThatThrownBy(() -> UuidV7.timestampOf(UUID.randomUUID()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void assertStrictlyIncreasing(List<UUID> ids) {
+        for (int i = 1; i < ids.size(); i++) {
+            assertThat(Long.compareUnsigned(ids.get(i).getMostSignificantBits(), ids.get(i - 1).getMostSignificantBits()))
+                    .as("id %d", i)
+                    .isPositive();
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.fangbuilt.lc_loan_system.shared.filter;
+
+import com.fangbuilt.lc_loan_system.shared.domain.BaseEntity;
+import com.fangbuilt.lc_loan_system.shared.exception.BadRequestException;
+import com.fangbuilt.lc_loan_system.support.PostgresTestDatabase;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Table;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Compiles a schema against a real Hibernate metamodel and runs the resulting predicates on
+ * PostgreSQL, so operators, coercion and LIKE escaping are checked end to end.
+ */
+class FilterSchemaTest {
+
+    enum Tier { GOLD, SILVER }
+
+    @Getter
+    @Setter
+    @Entity(name = "FilterItem")
+    @Table(name = "filter_items")
+    static class FilterItem extends BaseEntity {
+        @Column(nullable = false)
+        private String name;
+        @Column
+        private String code;
+        @Column(nullable = false)
+        private BigDecimal amount;
+        @Enumerated(EnumType.STRING)
+        @Column
+        private Tier tier;
+    }
+
+    private static SessionFactory sessionFactory;
+    private static FilterSchema<FilterItem> schema;
+
+    @BeforeAll
+    static void setUp() {
+        sessionFactory = new MetadataSources(new StandardServiceRegistryBuilder()
+                .applySetting("hibernate.connection.datasource", PostgresTestDatabase.create())
+                .applySetting("hibernate.hbm2ddl.auto", "create")
+                .build())
+                .addAnnotatedClass(FilterItem.class)
+                .buildMetadata()
+                .buildSessionFactory();
+
+        schema = FilterSchema.builder(sessionFactory.getMetamodel().entity(FilterItem.class))
+                .field("id", true, FilterOperator.EQ, FilterOperator.IN)
+                .caseInsensitive("name", true, FilterOperator.EQ, FilterOperator.PREFIX)
+                .field("code", true, FilterOperator.EQ, FilterOperator.PREFIX)
+                .field("amount", false, FilterOperator.EQ, FilterOperator.GTE, FilterOperator.LTE)
+                .field("tier", true, FilterOperator.EQ, FilterOperator.IN)
+                .field("createdAt", true, FilterOperator.GTE, FilterOperator.LTE)
+                .build();
+
+        sessionFactory.inTransaction(session -> {
+            session.persist(item("Alice", "A_1", "100.00", Tier.GOLD));
+            session.persist(item("alan", "AB1", "250.50", Tier.SILVER));
+            session.persist(item("Bob", "B\\1", "999.99", null));
+        });
+        // Set by a bulk update: once a Spring context with JPA auditing has run in this JVM, the auditing
+        // listener also stamps these entities on persist
+        sessionFactory.inTransaction(session -> {
+            createdAt(session, "Alice", LocalDateTime.of(2025, 1, 1, 9, 0));
+            createdAt(session, "alan", LocalDateTime.of(2025, 2, 1, 0, 0));
+            createdAt(session, "Bob", LocalDateTime.of(2025, 3, 15, 12, 30));
+        });
+    }
+
+    @AfterAll
+    static void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Test
+    void keyWithoutSuffixIsEquality() {
+        assertThat(names(Map.of("amount", "250.50"))).containsExactly("alan");
+    }
+
+    @Test
+    void operatorSuffixesSelectComparisons() {
+        assertThat(names(Map.of("amount:gte", "250.50"))).containsExactly("alan", "Bob");
+        assertThat(names(Map.of("amount:LTE", "250.5"))).containsExactly("Alice", "alan");
+        assertThat(names(Map.of("amount:gte", "200", "amount:lte", "300"))).containsExactly("alan");
+    }
+
+    @Test
+    void listOrCommaSeparatedValueIsIn() {
+        assertThat(names(Map.of("tier", List.of("GOLD", "SILVER")))).containsExactly("Alice", "alan");
+        assertThat(names(Map.of("tier:in", "gold,silver"))).containsExactly("Alice", "alan");
+    }
+
+    @Test
+    void blankValuesAreIgnored() {
+        assertThat(names(Map.of("amount", ""))).containsExactly("Alice", "alan", "Bob");
+    }
+
+    @Test
+    void coercesValuesToTheAttributeType() {
+        // A bare date is its start of day
+        assertThat(names(Map.of("createdAt:gte", "2025-02-01"))).containsExactly("alan", "Bob");
+        assertThat(names(Map.of("createdAt:lte", "2025-02-01T00:00:00"))).containsExactly("Alice", "alan");
+        assertThat(names(Map.of("tier", "silver"))).containsExactly("alan");
+    }
+
+    @Test
+    void rejectsValuesThatDoNotCoerce() {
+        assertThatThrownBy(() -> names(Map.of("amount", "lots"))).isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("amount");
+        assertThatThrownBy(() -> names(Map.of("tier", "PLATINUM"))).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> names(Map.of("createdAt:gte", "yesterday"))).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> names(Map.of("id", "42"))).isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void rejectsUnknownFieldsAndOperators() {
+        assertThatThrownBy(() -> names(Map.of("password", "x"))).isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("Cannot filter");
+        assertThatThrownBy(() -> names(Map.of("amount:like", "1"))).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> names(Map.of("name:gte", "a"))).isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("allows");
+    }
+
+    @Test
+    void caseInsensitiveFieldsIgnoreCase() {
+        assertThat(names(Map.of("name", "ALICE"))).containsExactly("Alice");
+        assertThat(names(Map.of("name:prefix", "Al"))).containsExactly("Alice", "alan");
+    }
+
+    @Test
+    void trailingPercentMeansPrefix() {
+        assertThat(names(Map.of("name", "AL%"))).containsExactly("Alice", "alan");
+        assertThat(names(Map.of("code", "A%"))).containsExactly("Alice", "alan");
+    }
+
+    @Test
+    void prefixEscapesLikeWildcards() {
+        // '_' would match any character if it were not escaped
+        assertThat(names(Map.of("code:prefix", "A_"))).containsExactly("Alice");
+        assertThat(names(Map.of("code:prefix", "B\\"))).containsExactly("Bob");
+        assertThatThrownBy(() -> names(Map.of("code:prefix", "A%1"))).isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("prefix");
+        assertThatThrownBy(() -> names(Map.of("code", "%1%"))).isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void unindexedFieldsAreRejectedOnlyOnLargeTables() {
+        assertThat(schema.toSpecification(Map.of("amount", "1"), () -> false)).isNotNull();
+        assertThatThrownBy(() -> schema.toSpecification(Map.of("amount", "1"), () -> true))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("indexed");
+        assertThat(schema.toSpecification(Map.of("tier", "GOLD"), () -> true)).isNotNull();
+    }
+
+    @Test
+    void onlyIndexedNonNullPlainColumnsAreSeekable() {
+        schema.requireSeekable("createdAt");
+        schema.requireSeekable("id");
+
+        assertThatThrownBy(() -> schema.requireSeekable("amount")).isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("[createdAt, id]");
+        assertThatThrownBy(() -> schema.requireSeekable("tier")).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> schema.requireSeekable("name")).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> schema.requireSeekable("password")).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> schema.requireSeekable(null)).isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void builderRejectsStringOperatorsOnOtherTypes() {
+        var builder = FilterSchema.builder(sessionFactory.getMetamodel().entity(FilterItem.class));
+
+        assertThatThrownBy(() -> builder.field("amount", true, FilterOperator.PREFIX))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> builder.caseInsensitive("tier", true, FilterOperator.EQ))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static List<String> names(Map<String, Object> filters) {
+        Specification<FilterItem> spec = schema.toSpecification(filters, () -> false);
+        try (EntityManager entityManager = sessionFactory.createEntityManager()) {
+            CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+            CriteriaQuery<FilterItem> query = cb.createQuery(FilterItem.class);
+            Root<FilterItem> root = query.from(FilterItem.class);
+            query.where(spec.toPredicate(root, query, cb)).orderBy(cb.asc(root.get("createdAt")));
+            return entityManager.createQuery(query).getResultList().stream().map(FilterItem::getName).toList();
+        }
+    }
+
+    private static FilterItem item(String name, String code, String amount, Tier tier) {
+        FilterItem item = new FilterItem();
+        item.setName(name);
+        item.setCode(code);
+        item.setAmount(new BigDecimal(amount));
+        item.setTier(tier);
+        item.setCreatedAt(LocalDateTime.now());
+        item.setUpdatedAt(LocalDateTime.now());
+        return item;
+    }
+
+    private static void createdAt(Session session, String name, LocalDateTime createdAt) {
+        session.createMutationQuery("UPDATE FilterItem SET createdAt = :at, updatedAt = :at WHERE name = :name")
+                .setParameter("at", createdAt)
+                .setParameter("name", name)
+                .executeUpdate();
+    }
+}
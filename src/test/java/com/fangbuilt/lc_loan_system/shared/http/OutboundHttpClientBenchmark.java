@@ -0,0 +1,68 @@
+package com.fangbuilt.lc_loan_system.shared.http;
+
+import com.fangbuilt.lc_loan_system.shared.config.OutboundHttpProperties;
+import com.fangbuilt.lc_loan_system.support.StubHttpServer;
+import com.fangbuilt.lc_loan_system.support.StubHttpServer.Response;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round trip to a loopback bureau stub over the pooled client, against the same client
+ * forced to open a fresh connection per request (the pre-pool behaviour).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class OutboundHttpClientBenchmark {
+
+    private StubHttpServer server;
+    private OutboundHttpClient client;
+    private URI uri;
+
+    @Setup
+    public void setUp() {
+        server = StubHttpServer.start(request -> Response.json("[512,640,701]"));
+        uri = server.uri("/random?min=300&max=850&count=3");
+        client = new OutboundHttpClient(new OutboundHttpProperties(), new ObjectMapper(), new SimpleMeterRegistry());
+        client.start();
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.stop();
+        server.close();
+    }
+
+    @Benchmark
+    public Integer[] pooledKeepAlive() throws Exception {
+        return client.getJson(uri, Integer[].class).get();
+    }
+
+    @Benchmark
+    public SimpleHttpResponse connectionPerRequest() throws Exception {
+        SimpleHttpRequest request = SimpleRequestBuilder.get(uri).addHeader("Connection", "close").build();
+        return client.execute(request).get();
+    }
+}
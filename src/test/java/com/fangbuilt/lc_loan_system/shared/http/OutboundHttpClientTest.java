@@ -0,0 +1,101 @@
+package com.fangbuilt.lc_loan_system.shared.http;
+
+import com.fangbuilt.lc_loan_system.shared.config.OutboundHttpProperties;
+import com.fangbuilt.lc_loan_system.support.StubHttpServer;
+import com.fangbuilt.lc_loan_system.support.StubHttpServer.Response;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class OutboundHttpClientTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OutboundHttpProperties properties = new OutboundHttpProperties();
+    private StubHttpServer server;
+    private OutboundHttpClient client;
+
+    @BeforeEach
+    void setUp() {
+        server = StubHttpServer.start(request -> Response.json("[1]"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.stop();
+        server.close();
+    }
+
+    @Test
+    void sequentialRequestsReuseConnections() throws Exception {
+        startClient();
+
+        for (int i = 0; i < 50; i++) {
+            client.getJson(server.uri("/score"), Integer[].class).get(2, TimeUnit.SECONDS);
+            // The response callback can run before the connection is back in the pool; wait for
+            // the release so the next request finds it idle instead of racing it
+            await().atMost(Duration.ofSeconds(2)).until(() -> leasedConnections() == 0);
+        }
+
+        assertThat(connectionsOpened()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("http.client.outbound.requests").tag("status", "200").timer().count())
+                .isEqualTo(50);
+    }
+
+    @Test
+    void connectionPerRequestIsTheBaselineThePoolAvoids() throws Exception {
+        startClient();
+
+        for (int i = 0; i < 10; i++) {
+            client.execute(SimpleRequestBuilder.get(server.uri("/score"))
+                    .addHeader("Connection", "close")
+                    .build()).get(2, TimeUnit.SECONDS);
+        }
+
+        assertThat(connectionsOpened()).isEqualTo(10.0);
+    }
+
+    @Test
+    void concurrentRequestsAreCappedPerRoute() throws Exception {
+        URI target = server.uri("/score");
+        properties.getRoutes().put("http://127.0.0.1:" + target.getPort(), 3);
+        startClient();
+        server.respond(request -> Response.json("[1]").after(Duration.ofMillis(100)));
+
+        List<CompletableFuture<Integer[]>> calls = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            calls.add(client.getJson(target, Integer[].class));
+        }
+        for (CompletableFuture<Integer[]> call : calls) {
+            call.get(5, TimeUnit.SECONDS);
+        }
+
+        assertThat(server.maxConcurrentRequests()).isEqualTo(3);
+        assertThat(connectionsOpened()).isEqualTo(3.0);
+    }
+
+    private void startClient() {
+        client = new OutboundHttpClient(properties, new ObjectMapper(), meterRegistry);
+        client.start();
+    }
+
+    private double leasedConnections() {
+        return meterRegistry.get("http.client.pool.leased").gauge().value();
+    }
+
+    private double connectionsOpened() {
+        return meterRegistry.get("http.client.connections.opened").counter().count();
+    }
+}
@@ -0,0 +1,141 @@
+package com.fangbuilt.lc_loan_system.shared.repository;
+
+import com.fangbuilt.lc_loan_system.support.PostgresTestDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bulk soft deletes on PostgreSQL, up to a million ids. The budgets are per chunk: how long
+ * one chunk's transaction (and so its row locks) lasts, and how much heap stays in use while
+ * the delete runs, which must not grow with the number of chunks already done.
+ */
+class SoftDeleteExecutorTest {
+
+    private static final int CHUNK_SIZE = SoftDeleteExecutor.DEFAULT_CHUNK_SIZE;
+    private static final Duration LOCK_BUDGET = Duration.ofSeconds(2);
+    private static final long HEAP_GROWTH_BUDGET = 32L * 1024 * 1024;
+
+    private JdbcTemplate jdbc;
+    private SoftDeleteExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = PostgresTestDatabase.create();
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE items (id uuid PRIMARY KEY, updated_at timestamp(6), deleted_at timestamp(6))");
+        executor = new SoftDeleteExecutor(dataSource, new DataSourceTransactionManager(dataSource));
+    }
+
+    @Test
+    void deletesAMillionIdsInChunksWithinBudgets() {
+        List<UUID> ids = seed(1_000_000);
+        Collections.shuffle(ids);
+        ChunkRecorder recorder = new ChunkRecorder();
+
+        SoftDeleteExecutor.Result result = executor.deleteByIds("items", ids, CHUNK_SIZE, recorder);
+
+        assertThat(result).isEqualTo(new SoftDeleteExecutor.Result(1_000_000, 1_000_000, 200));
+        assertThat(liveRows()).isZero();
+        assertThat(recorder.processed).hasSize(200).last().isEqualTo(1_000_000L);
+        recorder.assertWithinBudgets();
+    }
+
+    @Test
+    void skipsMissingAndAlreadyDeletedIds() {
+        List<UUID> ids = seed(10);
+        jdbc.update("UPDATE items SET deleted_at = timestamp '2020-01-01' WHERE id = ?", ids.get(0));
+        List<UUID> requested = new ArrayList<>(ids);
+        requested.add(UUID.randomUUID());
+
+        SoftDeleteExecutor.Result result = executor.deleteByIds("items", requested, 4, null);
+
+        assertThat(result).isEqualTo(new SoftDeleteExecutor.Result(11, 9, 3));
+        assertThat(jdbc.queryForObject("SELECT deleted_at::text FROM items WHERE id = ?", String.class, ids.get(0)))
+                .isEqualTo("2020-01-01 00:00:00");
+    }
+
+    @Test
+    void deleteAllWalksTheKeyInChunksWithinBudgets() {
+        seed(200_000);
+        jdbc.update("UPDATE items SET deleted_at = timestamp '2020-01-01' "
+                + "WHERE id IN (SELECT id FROM items ORDER BY id LIMIT 50000)");
+        ChunkRecorder recorder = new ChunkRecorder();
+
+        SoftDeleteExecutor.Result result = executor.deleteAll("items", CHUNK_SIZE, recorder);
+
+        assertThat(result).isEqualTo(new SoftDeleteExecutor.Result(150_000, 150_000, 30));
+        assertThat(liveRows()).isZero();
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM items WHERE deleted_at = timestamp '2020-01-01'",
+                Long.class)).isEqualTo(50_000);
+        recorder.assertWithinBudgets();
+    }
+
+    @Test
+    void deleteAllPicksUpRowsInsertedAheadOfTheKey() {
+        seed(10);
+        UUID last = new UUID(-1L, -1L);
+
+        SoftDeleteExecutor.Result result = executor.deleteAll("items", 4, (processed, total, deleted) -> {
+            if (processed == 4) {
+                jdbc.update("INSERT INTO items (id) VALUES (?)", last);
+            }
+        });
+
+        assertThat(result.deleted()).isEqualTo(11);
+        assertThat(liveRows()).isZero();
+    }
+
+    private List<UUID> seed(int rows) {
+        jdbc.update("INSERT INTO items (id, updated_at) SELECT gen_random_uuid(), now() FROM generate_series(1, ?)", rows);
+        jdbc.execute("ANALYZE items");
+        return new ArrayList<>(jdbc.queryForList("SELECT id FROM items", UUID.class));
+    }
+
+    private long liveRows() {
+        return jdbc.queryForObject("SELECT count(*) FROM items WHERE deleted_at IS NULL", Long.class);
+    }
+
+    /**
+     * Time between chunk callbacks bounds each chunk's transaction; heap in use after a GC is
+     * sampled every 20 chunks and compared with the first sample
+     */
+    private static final class ChunkRecorder implements SoftDeleteExecutor.ProgressListener {
+
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        private final List<Long> processed = new ArrayList<>();
+        private final List<Long> heapSamples = new ArrayList<>();
+        private long lastChunkAt = System.nanoTime();
+        private long longestChunkNanos;
+
+        @Override
+        public void onChunk(long processed, long total, long deleted) {
+            long now = System.nanoTime();
+            longestChunkNanos = Math.max(longestChunkNanos, now - lastChunkAt);
+            this.processed.add(processed);
+            if (this.processed.size() % 20 == 1) {
+                System.gc();
+                heapSamples.add(memory.getHeapMemoryUsage().getUsed());
+            }
+            lastChunkAt = System.nanoTime();
+        }
+
+        void assertWithinBudgets() {
+            assertThat(Duration.ofNanos(longestChunkNanos)).isLessThan(LOCK_BUDGET);
+            long baseline = heapSamples.get(0);
+            assertThat(heapSamples).allSatisfy(used -> assertThat(used - baseline).isLessThan(HEAP_GROWTH_BUDGET));
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.fangbuilt.lc_loan_system.shared.service;
+
+import com.fangbuilt.lc_loan_system.shared.config.CreditScoreProperties;
+import com.fangbuilt.lc_loan_system.shared.http.OutboundHttpClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CreditBureauClientTest {
+
+    private final OutboundHttpClient httpClient = mock(OutboundHttpClient.class);
+    private final CreditScoreProperties properties = new CreditScoreProperties();
+    private CreditBureauClient client;
+
+    @BeforeEach
+    void setUp() {
+        properties.getResilience().setTimeout(Duration.ofMillis(200));
+        properties.getResilience().setMinLatencySamples(3);
+        properties.getResilience().setMinHedgeDelay(Duration.ofMillis(20));
+        // Keep the breaker closed so the bulkhead is the only thing that can refuse a call
+        properties.getResilience().setMinimumCalls(1000);
+        client = new CreditBureauClient(httpClient, properties, new SimpleMeterRegistry());
+        client.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.shutdown();
+    }
+
+    @Test
+    void timeoutCancelsTheOutstandingCall() {
+        CompletableFuture<Integer[]> upstream = new CompletableFuture<>();
+        when(httpClient.getJson(any(URI.class), eq(Integer[].class), any(Duration.class))).thenReturn(upstream);
+
+        assertThatThrownBy(() -> client.fetchScores(1).get(1, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(TimeoutException.class);
+        await().atMost(Duration.ofSeconds(1)).until(upstream::isCancelled);
+    }
+
+    @Test
+    void synchronousFailureReleasesTheBulkheadSlot() throws Exception {
+        when(httpClient.getJson(any(URI.class), eq(Integer[].class), any(Duration.class)))
+                .thenThrow(new IllegalStateException("client closed"));
+
+        int maxConcurrentCalls = properties.getResilience().getMaxConcurrentCalls();
+        for (int i = 0; i < maxConcurrentCalls + 1; i++) {
+            assertThatThrownBy(() -> client.fetchScores(1).get(1, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    void winningHedgeCancelsThePrimary() throws Exception {
+        when(httpClient.getJson(any(URI.class), eq(Integer[].class), any(Duration.class)))
+                .thenReturn(CompletableFuture.completedFuture(new Integer[] {700}));
+        for (int i = 0; i < 3; i++) {
+            client.fetchScores(1).get(1, TimeUnit.SECONDS);
+        }
+
+        CompletableFuture<Integer[]> slow = new CompletableFuture<>();
+        when(httpClient.getJson(any(URI.class), eq(Integer[].class), any(Duration.class)))
+                .thenReturn(slow)
+                .thenReturn(CompletableFuture.completedFuture(new Integer[] {650}));
+
+        assertThat(client.fetchScores(1).get(1, TimeUnit.SECONDS)).containsExactly(650);
+        await().atMost(Duration.ofSeconds(1)).until(slow::isCancelled);
+    }
+}
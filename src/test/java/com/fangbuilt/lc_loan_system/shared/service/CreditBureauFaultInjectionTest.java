@@ -0,0 +1,196 @@
+package com.fangbuilt.lc_loan_system.shared.service;
+
+import com.fangbuilt.lc_loan_system.shared.config.CreditScoreProperties;
+import com.fangbuilt.lc_loan_system.shared.config.OutboundHttpProperties;
+import com.fangbuilt.lc_loan_system.shared.http.OutboundHttpClient;
+import com.fangbuilt.lc_loan_system.shared.http.OutboundHttpException;
+import com.fangbuilt.lc_loan_system.shared.resilience.CallNotPermittedException;
+import com.fangbuilt.lc_loan_system.shared.resilience.CircuitBreaker;
+import com.fangbuilt.lc_loan_system.support.StubHttpServer;
+import com.fangbuilt.lc_loan_system.support.StubHttpServer.Response;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * CreditBureauClient over a real pooled OutboundHttpClient, against a stub bureau that
+ * injects latency, error statuses and dropped connections.
+ */
+class CreditBureauFaultInjectionTest {
+
+    private static final Response SCORE = Response.json("[700]");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CreditScoreProperties properties = new CreditScoreProperties();
+    private StubHttpServer bureau;
+    private OutboundHttpClient httpClient;
+    private CreditBureauClient client;
+
+    @BeforeEach
+    void setUp() {
+        bureau = StubHttpServer.start(request -> SCORE);
+        properties.setUrl(bureau.uri("/random?min=300&max=850").toString());
+
+        CreditScoreProperties.Resilience resilience = properties.getResilience();
+        resilience.setTimeout(Duration.ofMillis(500));
+        resilience.setSlidingWindowSize(4);
+        resilience.setMinimumCalls(4);
+        resilience.setOpenDuration(Duration.ofMinutes(1));
+        resilience.setMinLatencySamples(3);
+        resilience.setMinHedgeDelay(Duration.ofMillis(50));
+
+        httpClient = new OutboundHttpClient(new OutboundHttpProperties(), new ObjectMapper(), meterRegistry);
+        httpClient.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.shutdown();
+        httpClient.stop();
+        bureau.close();
+    }
+
+    @Test
+    void slowResponseTimesOutAndFreesTheConnection() {
+        startClient();
+        // Leave an idle pooled connection behind, the case where cancellation alone cannot abort the exchange
+        client.fetchScores(1).join();
+        bureau.respond(request -> SCORE.after(Duration.ofSeconds(5)));
+
+        assertThatThrownBy(() -> client.fetchScores(1).get(2, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(TimeoutException.class);
+        await().atMost(Duration.ofSeconds(2)).until(() -> gauge("http.client.pool.leased") == 0);
+        assertThat(gauge("resilience.bulkhead.available"))
+                .isEqualTo(properties.getResilience().getMaxConcurrentCalls());
+    }
+
+    @Test
+    void serverErrorsOpenTheBreakerAndStopTraffic() {
+        startClient();
+        bureau.respond(request -> Response.status(500));
+
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> client.fetchScores(1).get(2, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(OutboundHttpException.class);
+        }
+        assertThat(client.getCircuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        assertThatThrownBy(() -> client.fetchScores(1).get(2, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(CallNotPermittedException.class);
+        assertThat(bureau.requests()).hasSize(4);
+    }
+
+    @Test
+    void serviceUnavailableIsNotRetriedBehindTheBreaker() {
+        startClient();
+        bureau.respond(request -> Response.status(503));
+
+        assertThatThrownBy(() -> client.fetchScores(1).get(2, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(OutboundHttpException.class);
+        assertThat(bureau.requests()).hasSize(1);
+    }
+
+    @Test
+    void droppedConnectionsCountAsFailures() {
+        startClient();
+        bureau.respond(request -> Response.dropConnection());
+
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> client.fetchScores(1).get(2, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .cause().isNotInstanceOf(CallNotPermittedException.class);
+        }
+        assertThat(client.getCircuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void refusedConnectionFailsFast() {
+        startClient();
+        bureau.close();
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> client.fetchScores(1).get(2, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .cause().isNotInstanceOf(TimeoutException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - start))
+                .isLessThan(properties.getResilience().getTimeout());
+    }
+
+    @Test
+    void bulkheadCapsConcurrentRequestsToTheBureau() throws Exception {
+        properties.getResilience().setMaxConcurrentCalls(2);
+        properties.getResilience().setBulkheadMaxWait(Duration.ofMillis(20));
+        properties.getResilience().setHedgingEnabled(false);
+        startClient();
+        bureau.respond(request -> SCORE.after(Duration.ofMillis(200)));
+
+        List<CompletableFuture<Integer[]>> calls = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            calls.add(client.fetchScores(1));
+        }
+
+        int succeeded = 0;
+        int refused = 0;
+        for (CompletableFuture<Integer[]> call : calls) {
+            try {
+                call.get(2, TimeUnit.SECONDS);
+                succeeded++;
+            } catch (ExecutionException e) {
+                assertThat(e).hasCauseInstanceOf(CallNotPermittedException.class);
+                refused++;
+            }
+        }
+        assertThat(succeeded).isEqualTo(2);
+        assertThat(refused).isEqualTo(4);
+        assertThat(bureau.maxConcurrentRequests()).isEqualTo(2);
+        // Refusals are load shedding, not bureau failures
+        assertThat(client.getCircuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void hedgeAnswersWhenThePrimaryStalls() throws Exception {
+        startClient();
+        for (int i = 0; i < 3; i++) {
+            client.fetchScores(1).get(2, TimeUnit.SECONDS);
+        }
+
+        AtomicInteger calls = new AtomicInteger();
+        bureau.respond(request -> calls.incrementAndGet() == 1
+                ? Response.json("[400]").after(Duration.ofSeconds(5))
+                : Response.json("[800]"));
+
+        long start = System.nanoTime();
+        Integer[] scores = client.fetchScores(1).get(2, TimeUnit.SECONDS);
+
+        assertThat(scores).containsExactly(800);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(properties.getResilience().getTimeout());
+        assertThat(meterRegistry.counter("resilience.hedge.won", "name", "credit-bureau").count()).isEqualTo(1.0);
+        // The stalled primary is aborted rather than left holding a pooled connection
+        await().atMost(Duration.ofSeconds(2)).until(() -> gauge("http.client.pool.leased") == 0);
+    }
+
+    private void startClient() {
+        client = new CreditBureauClient(httpClient, properties, meterRegistry);
+        client.init();
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+}
@@ -0,0 +1,162 @@
+package com.fangbuilt.lc_loan_system.shared.service;
+
+import com.fangbuilt.lc_loan_system.shared.config.CreditScoreProperties;
+import com.fangbuilt.lc_loan_system.shared.config.OutboundHttpProperties;
+import com.fangbuilt.lc_loan_system.shared.exception.BadRequestException;
+import com.fangbuilt.lc_loan_system.shared.http.OutboundHttpClient;
+import com.fangbuilt.lc_loan_system.shared.http.OutboundHttpException;
+import com.fangbuilt.lc_loan_system.support.StubHttpServer;
+import com.fangbuilt.lc_loan_system.support.StubHttpServer.Response;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CreditScoreBatchClientTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CreditScoreProperties properties = new CreditScoreProperties();
+    private StubHttpServer bureau;
+    private OutboundHttpClient httpClient;
+    private CreditBureauClient bureauClient;
+    private CreditScoreBatchClient batchClient;
+
+    @BeforeEach
+    void setUp() {
+        bureau = StubHttpServer.start(CreditScoreBatchClientTest::sequentialScores);
+        properties.setUrl(bureau.uri("/random?min=300&max=850").toString());
+        properties.getResilience().setHedgingEnabled(false);
+
+        httpClient = new OutboundHttpClient(new OutboundHttpProperties(), new ObjectMapper(), meterRegistry);
+        httpClient.start();
+        bureauClient = new CreditBureauClient(httpClient, properties, meterRegistry);
+        bureauClient.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchClient.shutdown();
+        bureauClient.shutdown();
+        httpClient.stop();
+        bureau.close();
+    }
+
+    @Test
+    void fullBatchIsSentAsOneRequest() throws Exception {
+        startBatchClient(5, Duration.ofSeconds(10));
+
+        List<Integer> scores = join(fetchAll(5));
+
+        assertThat(bureau.requests()).extracting(URI::getQuery).containsExactly("min=300&max=850&count=5");
+        assertThat(scores).containsExactlyInAnyOrder(300, 301, 302, 303, 304);
+        assertThat(flushes("size")).isEqualTo(1.0);
+        assertThat(meterRegistry.get("credit.score.batch.size").summary().max()).isEqualTo(5.0);
+    }
+
+    @Test
+    void partialBatchIsSentOnceMaxWaitExpires() throws Exception {
+        Duration maxWait = Duration.ofMillis(100);
+        startBatchClient(50, maxWait);
+
+        long start = System.nanoTime();
+        List<Integer> scores = join(fetchAll(3));
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(maxWait);
+        assertThat(bureau.requests()).extracting(URI::getQuery).containsExactly("min=300&max=850&count=3");
+        assertThat(scores).containsExactlyInAnyOrder(300, 301, 302);
+        assertThat(flushes("time")).isEqualTo(1.0);
+        assertThat(meterRegistry.get("credit.score.batch.wait").timer().max(TimeUnit.MILLISECONDS))
+                .isGreaterThanOrEqualTo(maxWait.toMillis() * 0.9);
+    }
+
+    @Test
+    void eachCallerReceivesTheScoreAtItsPositionInTheBatch() throws Exception {
+        startBatchClient(3, Duration.ofSeconds(10));
+
+        CompletableFuture<Integer> first = batchClient.fetch("first");
+        CompletableFuture<Integer> second = batchClient.fetch("second");
+        CompletableFuture<Integer> third = batchClient.fetch("third");
+
+        assertThat(third.get(2, TimeUnit.SECONDS)).isEqualTo(302);
+        assertThat(first.get()).isEqualTo(300);
+        assertThat(second.get()).isEqualTo(301);
+    }
+
+    @Test
+    void shortResponseFailsEveryCallerInTheBatch() {
+        bureau.respond(request -> Response.json("[700, 701]"));
+        startBatchClient(3, Duration.ofSeconds(10));
+
+        List<CompletableFuture<Integer>> futures = fetchAll(3);
+
+        for (CompletableFuture<Integer> future : futures) {
+            assertThatThrownBy(() -> future.get(2, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(BadRequestException.class);
+        }
+    }
+
+    @Test
+    void failedBatchDoesNotLeakIntoTheNextOne() throws Exception {
+        bureau.respond(request -> Response.status(500));
+        startBatchClient(2, Duration.ofSeconds(10));
+
+        List<CompletableFuture<Integer>> failed = fetchAll(2);
+        for (CompletableFuture<Integer> future : failed) {
+            assertThatThrownBy(() -> future.get(2, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(OutboundHttpException.class);
+        }
+
+        bureau.respond(CreditScoreBatchClientTest::sequentialScores);
+        assertThat(join(fetchAll(2))).containsExactlyInAnyOrder(300, 301);
+        assertThat(bureau.requests()).hasSize(2);
+    }
+
+    private void startBatchClient(int maxSize, Duration maxWait) {
+        properties.getBatch().setMaxSize(maxSize);
+        properties.getBatch().setMaxWait(maxWait);
+        batchClient = new CreditScoreBatchClient(bureauClient, properties, meterRegistry);
+        batchClient.init();
+    }
+
+    private List<CompletableFuture<Integer>> fetchAll(int callers) {
+        return IntStream.range(0, callers)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> batchClient.fetch("customer-" + i))
+                        .thenCompose(future -> future))
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    private double flushes(String reason) {
+        return meterRegistry.counter("credit.score.batch.flush", "reason", reason).count();
+    }
+
+    private static List<Integer> join(List<CompletableFuture<Integer>> futures) throws Exception {
+        List<Integer> values = new ArrayList<>();
+        for (CompletableFuture<Integer> future : futures) {
+            values.add(future.get(2, TimeUnit.SECONDS));
+        }
+        return values;
+    }
+
+    // Answers count=N with N distinct scores, 300 upwards
+    private static Response sequentialScores(URI request) {
+        int count = Integer.parseInt(request.getQuery().replaceAll(".*count=(\\d+).*", "$1"));
+        return Response.json(IntStream.range(0, count)
+                .mapToObj(i -> String.valueOf(300 + i))
+                .collect(Collectors.joining(",", "[", "]")));
+    }
+}
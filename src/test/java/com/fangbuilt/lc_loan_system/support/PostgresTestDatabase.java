@@ -0,0 +1,64 @@
+package com.fangbuilt.lc_loan_system.support;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One embedded PostgreSQL server per test JVM, handing out a fresh database per call.
+ * Migrations run with the same Flyway settings as application.properties.
+ */
+public final class PostgresTestDatabase {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+    private static EmbeddedPostgres server;
+
+    private PostgresTestDatabase() {
+    }
+
+    /**
+     * An empty database on the shared server
+     */
+    public static synchronized DataSource create() {
+        if (server == null) {
+            try {
+                server = EmbeddedPostgres.start();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    server.close();
+                } catch (IOException ignored) {
+                }
+            }));
+        }
+        String name = "test_" + SEQUENCE.incrementAndGet();
+        new JdbcTemplate(server.getPostgresDatabase()).execute("CREATE DATABASE " + name);
+        return server.getDatabase("postgres", name);
+    }
+
+    /**
+     * A fresh database with every migration applied
+     */
+    public static DataSource migrated() {
+        DataSource dataSource = create();
+        migrate(dataSource);
+        return dataSource;
+    }
+
+    public static void migrate(DataSource dataSource) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+    }
+}
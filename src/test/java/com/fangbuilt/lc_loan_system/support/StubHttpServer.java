@@ -0,0 +1,127 @@
+package com.fangbuilt.lc_loan_system.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loopback HTTP server for outbound client tests. The responder can be swapped mid-test to
+ * inject latency, error statuses or dropped connections; every request URI is recorded.
+ */
+public final class StubHttpServer implements AutoCloseable {
+
+    static {
+        // Headers and body go out in separate writes; without this Nagle adds ~40ms per response
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final List<URI> requests = new CopyOnWriteArrayList<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private volatile Responder responder;
+
+    private StubHttpServer(Responder responder) {
+        this.responder = responder;
+        try {
+            this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public static StubHttpServer start(Responder responder) {
+        return new StubHttpServer(responder);
+    }
+
+    public void respond(Responder responder) {
+        this.responder = responder;
+    }
+
+    public URI uri(String pathAndQuery) {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + pathAndQuery);
+    }
+
+    public List<URI> requests() {
+        return List.copyOf(requests);
+    }
+
+    public int maxConcurrentRequests() {
+        return maxInFlight.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.add(exchange.getRequestURI());
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            Response response = responder.respond(exchange.getRequestURI());
+            if (!response.delay().isZero()) {
+                Thread.sleep(response.delay());
+            }
+            if (response.status() < 0) {
+                // Unhandled handler failure: the server drops the connection without a response
+                throw new IOException("stub dropped the connection");
+            }
+            byte[] body = response.body().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(response.status(), body.length == 0 ? -1 : body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(e);
+        } finally {
+            inFlight.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+    @FunctionalInterface
+    public interface Responder {
+        Response respond(URI request) throws Exception;
+    }
+
+    public record Response(int status, String body, Duration delay) {
+
+        public static Response json(String body) {
+            return new Response(200, body, Duration.ZERO);
+        }
+
+        public static Response status(int status) {
+            return new Response(status, "", Duration.ZERO);
+        }
+
+        public static Response dropConnection() {
+            return new Response(-1, "", Duration.ZERO);
+        }
+
+        public Response after(Duration delay) {
+            return new Response(status, body, delay);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+-- Schema as Hibernate ddl-auto=update built it before Flyway took over (generated constraint
+-- names, plain loans table), plus the schema.sql extras and a few rows. MigrationTest runs V1
+-- over it to check the in-place upgrade.
+
+create table users (
+    enabled boolean not null,
+    created_at timestamp(6) not null,
+    deleted_at timestamp(6),
+    updated_at timestamp(6) not null,
+    id uuid not null,
+    password varchar(255) not null,
+    role varchar(255) not null check (role in ('CUSTOMER','ADMIN')),
+    username varchar(255) not null,
+    primary key (id)
+);
+create table customer_profiles (
+    monthly_income numeric(19,2) not null,
+    created_at timestamp(6) not null,
+    deleted_at timestamp(6),
+    updated_at timestamp(6) not null,
+    id uuid not null,
+    user_id uuid not null,
+    email varchar(255) not null,
+    ktp_path varchar(255),
+    name varchar(255) not null,
+    salary_slip_path varchar(255),
+    primary key (id)
+);
+create table loans (
+    amount numeric(19,2) not null,
+    credit_score integer,
+    interest_rate numeric(5,2) not null,
+    tenor_months integer not null,
+    created_at timestamp(6) not null,
+    deleted_at timestamp(6),
+    updated_at timestamp(6) not null,
+    customer_id uuid not null,
+    id uuid not null,
+    rejection_reason varchar(255),
+    status varchar(255) not null check (status in ('PENDING','APPROVED','REJECTED')),
+    primary key (id)
+);
+create table refresh_tokens (
+    created_at timestamp(6) not null,
+    deleted_at timestamp(6),
+    expires_at timestamp(6) not null,
+    revoked_at timestamp(6),
+    updated_at timestamp(6) not null,
+    customer_id uuid not null,
+    id uuid not null,
+    token varchar(255) not null,
+    primary key (id)
+);
+alter table if exists customer_profiles drop constraint if exists UKh4e1wbbqbkmfr5wtblvtr0gnb;
+alter table if exists customer_profiles add constraint UKh4e1wbbqbkmfr5wtblvtr0gnb unique (user_id);
+alter table if exists customer_profiles drop constraint if exists UK7w7cc7ahqk1xnq8pj5apgqn9v;
+alter table if exists customer_profiles add constraint UK7w7cc7ahqk1xnq8pj5apgqn9v unique (email);
+alter table if exists refresh_tokens drop constraint if exists UKghpmfn23vmxfu3spu3lfg4r2d;
+alter table if exists refresh_tokens add constraint UKghpmfn23vmxfu3spu3lfg4r2d unique (token);
+alter table if exists users drop constraint if exists UKr43af9ap4edm43mmtq01oddj6;
+alter table if exists users add constraint UKr43af9ap4edm43mmtq01oddj6 unique (username);
+alter table if exists customer_profiles add constraint FKgi3ld4u3xdk1ybbd6wkoh8f7v foreign key (user_id) references users;
+alter table if exists loans add constraint FKhb4m0xrmkxdbixn1hw1y9t0mv foreign key (customer_id) references customer_profiles;
+alter table if exists refresh_tokens add constraint FKqx6c9m2qc5b8t4y6uaxhwr4p1 foreign key (customer_id) references customer_profiles;
+
+-- schema.sql, as it stood before the partitioning change
+CREATE UNIQUE INDEX uk_loans_customer_pending ON loans (customer_id) WHERE status = 'PENDING' AND deleted_at IS NULL;
+CREATE INDEX idx_loans_status_created_at ON loans (status, created_at);
+CREATE INDEX idx_loans_created_at ON loans (created_at);
+
+insert into users (id, username, password, role, enabled, created_at, updated_at) values
+    ('00000000-0000-4000-8000-000000000001', 'alice', 'x', 'CUSTOMER', true, now(), now()),
+    ('00000000-0000-4000-8000-000000000002', 'bob', 'x', 'CUSTOMER', true, now(), now());
+insert into customer_profiles (id, user_id, name, email, monthly_income, created_at, updated_at) values
+    ('00000000-0000-4000-8000-000000000011', '00000000-0000-4000-8000-000000000001', 'Alice', 'alice@example.com', 10000000, now(), now()),
+    ('00000000-0000-4000-8000-000000000012', '00000000-0000-4000-8000-000000000002', 'Bob', 'bob@example.com', 8000000, now(), now());
+-- One loan two years old (needs a historical partition), one approved last month, one pending now
+insert into loans (id, customer_id, amount, tenor_months, interest_rate, status, created_at, updated_at) values
+    ('00000000-0000-4000-8000-000000000021', '00000000-0000-4000-8000-000000000011', 5000000, 12, 12.00, 'APPROVED',
+     now() - interval '2 years', now() - interval '2 years'),
+    ('00000000-0000-4000-8000-000000000022', '00000000-0000-4000-8000-000000000012', 3000000, 6, 10.00, 'APPROVED',
+     now() - interval '1 month', now() - interval '1 month'),
+    ('00000000-0000-4000-8000-000000000023', '00000000-0000-4000-8000-000000000011', 2000000, 3, 0.00, 'PENDING',
+     now(), now());